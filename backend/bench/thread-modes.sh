@@ -0,0 +1,151 @@
+#!/bin/bash
+# ========================================
+# Platform vs virtual threads benchmark
+# ========================================
+# Starts the backend once per thread mode with the same settings, drives the
+# same load with `hey` and prints throughput and p99 latency side by side.
+#
+# Needs: Java 21+, hey (https://github.com/rakyll/hey), a reachable PostgreSQL
+# (SPRING_DATASOURCE_URL/USERNAME/PASSWORD) and a verified account:
+#
+#   export BENCH_EMAIL=bench@example.com BENCH_PASSWORD=secret
+#   ./bench/thread-modes.sh
+#
+# Tunables: BENCH_CONCURRENCY (200), BENCH_DURATION (30s), BENCH_WARMUP (10s),
+# BENCH_STUB_LATENCY_MS (300), BENCH_PORT (18080), BENCH_SCENARIOS.
+# Scenarios:
+#   login  — POST /api/auth/direct-login   (JDBC + BCrypt on the request thread)
+#   ask    — POST /api/ai/ask              (stub provider, answer cache off)
+#   stream — POST /api/ai/ask/stream       (stub provider, blocking SSE writer)
+# Results are appended to bench/results/thread-modes-<timestamp>.csv.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${BENCH_CONCURRENCY:-200}
+DURATION=${BENCH_DURATION:-30s}
+WARMUP=${BENCH_WARMUP:-10s}
+STUB_LATENCY_MS=${BENCH_STUB_LATENCY_MS:-300}
+PORT=${BENCH_PORT:-18080}
+SCENARIOS=${BENCH_SCENARIOS:-"login ask stream"}
+BASE="http://localhost:$PORT"
+
+: "${BENCH_EMAIL:?set BENCH_EMAIL to a verified account}"
+: "${BENCH_PASSWORD:?set BENCH_PASSWORD}"
+command -v hey >/dev/null || { echo "hey not found (go install github.com/rakyll/hey@latest)"; exit 1; }
+
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_MAJOR%%.*}" -lt 21 ]; then
+    echo "Java $JAVA_MAJOR has no virtual threads — run this on Java 21+"
+    exit 1
+fi
+
+JAR=$(ls target/backend-*.jar 2>/dev/null | grep -v original | head -1 || true)
+if [ -z "$JAR" ]; then
+    echo "▶ Building jar"
+    mvn -B -q -DskipTests package
+    JAR=$(ls target/backend-*.jar | grep -v original | head -1)
+fi
+
+mkdir -p bench/results
+STAMP=$(date +%Y%m%d-%H%M%S)
+CSV="bench/results/thread-modes-$STAMP.csv"
+echo "mode,scenario,concurrency,duration,requests_per_sec,p50_ms,p99_ms,errors,pinned_events" > "$CSV"
+
+APP_PID=""
+cleanup() { [ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true; }
+trap cleanup EXIT
+
+start_app() {
+    local mode=$1 virtual=false
+    [ "$mode" = "virtual" ] && virtual=true
+
+    # Pinning is reported on stdout; counted per run below
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --spring.jpa.show-sql=false \
+        --ai.provider=stub \
+        --ai.provider.fallback= \
+        --ai.stub.latency-ms="$STUB_LATENCY_MS" \
+        --rate-limit.enabled=false \
+        > "bench/results/app-$mode-$STAMP.log" 2>&1 &
+    APP_PID=$!
+
+    for _ in $(seq 1 90); do
+        curl -sf "$BASE/actuator/health" >/dev/null && return 0
+        sleep 1
+    done
+    echo "Backend did not start, see bench/results/app-$mode-$STAMP.log"
+    exit 1
+}
+
+stop_app() {
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+}
+
+login_token() {
+    curl -sf -H 'Content-Type: application/json' \
+        -d "{\"email\":\"$BENCH_EMAIL\",\"password\":\"$BENCH_PASSWORD\"}" \
+        "$BASE/api/auth/direct-login" | sed -E 's/.*"message":"([^"]+)".*/\1/'
+}
+
+# Fills HEY_ARGS for a scenario; the AI endpoints need the JWT from login
+scenario_args() {
+    local scenario=$1 token=$2
+    case "$scenario" in
+        login)
+            HEY_ARGS=(-m POST -T application/json
+                -d "{\"email\":\"$BENCH_EMAIL\",\"password\":\"$BENCH_PASSWORD\"}"
+                "$BASE/api/auth/direct-login") ;;
+        ask)
+            HEY_ARGS=(-m POST -T application/json -H "Authorization: Bearer $token"
+                -d '{"question":"best sci-fi movies","sessionId":"bench","cache":false}'
+                "$BASE/api/ai/ask") ;;
+        stream)
+            HEY_ARGS=(-m POST -T application/json -H "Authorization: Bearer $token"
+                -d '{"question":"best sci-fi movies","sessionId":"bench"}'
+                "$BASE/api/ai/ask/stream") ;;
+        *)
+            echo "Unknown scenario $scenario" >&2; exit 1 ;;
+    esac
+}
+
+for mode in platform virtual; do
+    echo "========================================"
+    echo "▶ Mode: $mode"
+    echo "========================================"
+    start_app "$mode"
+
+    TOKEN=$(login_token)
+    [ -n "$TOKEN" ] || { echo "Login failed for $BENCH_EMAIL"; exit 1; }
+
+    for scenario in $SCENARIOS; do
+        scenario_args "$scenario" "$TOKEN"
+
+        pinned_before=$(grep -c "monitors:" "bench/results/app-$mode-$STAMP.log" || true)
+        hey -z "$WARMUP" -c "$CONCURRENCY" "${HEY_ARGS[@]}" >/dev/null
+        out=$(hey -z "$DURATION" -c "$CONCURRENCY" "${HEY_ARGS[@]}")
+        pinned_after=$(grep -c "monitors:" "bench/results/app-$mode-$STAMP.log" || true)
+
+        rps=$(echo "$out" | awk '/Requests\/sec/ {print $2}')
+        p50=$(echo "$out" | awk '/50% in/ {printf "%.1f", $3 * 1000}')
+        p99=$(echo "$out" | awk '/99% in/ {printf "%.1f", $3 * 1000}')
+        ok=$(echo "$out" | awk '/\[200\]/ {print $2}')
+        total=$(echo "$out" | awk '/\[[0-9]+\]/ {n += $2} END {print n + 0}')
+        errors=$(( total - ${ok:-0} ))
+
+        echo "$mode,$scenario,$CONCURRENCY,$DURATION,$rps,$p50,$p99,$errors,$((pinned_after - pinned_before))" >> "$CSV"
+        printf "  %-7s %10s req/s   p50 %8s ms   p99 %8s ms   errors %s\n" "$scenario" "$rps" "$p50" "$p99" "$errors"
+    done
+
+    stop_app
+done
+
+echo ""
+column -s, -t < "$CSV"
+echo ""
+echo "Results: $CSV"
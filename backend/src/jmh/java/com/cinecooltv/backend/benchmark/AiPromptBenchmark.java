@@ -0,0 +1,74 @@
+package com.cinecooltv.backend.benchmark;
+
+import com.cinecooltv.backend.service.AiAnswerCache;
+import com.cinecooltv.backend.service.AiContextBuilder;
+import com.cinecooltv.backend.service.MovieEnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request CPU work on the AI path: prompt/JSON building, the answer cache
+ * key, and quoted-title extraction from the answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiPromptBenchmark {
+
+    private static final String ANSWER = """
+            🎬 If you loved "Inception", try these:
+            • "Interstellar" ⭐ Nolan again, bigger emotional stakes.
+            • "Arrival" 🔍 slow-burn sci-fi about language and time.
+            • "Dark" 📺 a German series with a time-loop puzzle box.
+            • "Coherence" 💡 low budget, high concept.
+            • "Primer" 🥇 the most demanding of the bunch.
+            • "Tenet" 🎭 if you want Nolan at his most intricate.
+            """;
+
+    // Session length in history entries (User/AI pairs), 40 = ai.session.max-messages
+    @Param({"0", "10", "40"})
+    private int historySize;
+
+    private AiContextBuilder contextBuilder;
+    private List<String> history;
+    private AiContextBuilder.PromptContext context;
+
+    @Setup
+    public void setup() {
+        contextBuilder = new AiContextBuilder(new SimpleMeterRegistry());
+        Fields.set(contextBuilder, "maxPromptTokens", 3000);
+
+        history = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            history.add(i % 2 == 0
+                    ? "User: what should I watch after the " + i + "th Nolan movie?"
+                    : "AI: " + ANSWER);
+        }
+        context = contextBuilder.build(history, "Compare Interstellar and Arrival");
+    }
+
+    @Benchmark
+    public AiContextBuilder.PromptContext buildContext() {
+        return contextBuilder.build(history, "Compare Interstellar and Arrival");
+    }
+
+    @Benchmark
+    public String requestBody() {
+        return context.toRequestBody("llama-3.1-8b-instant", 0.7, 1000, false);
+    }
+
+    @Benchmark
+    public AiAnswerCache.Key answerCacheKey() {
+        return AiAnswerCache.key("Compare Interstellar and Arrival?", "llama-3.1-8b-instant", 0.7,
+                context.includedHistory());
+    }
+
+    @Benchmark
+    public List<String> extractQuotedTitles() {
+        return MovieEnrichmentService.extractQuotedTitles(ANSWER, 5);
+    }
+}
@@ -0,0 +1,35 @@
+package com.cinecooltv.backend.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Sets {@code @Value} fields and runs {@code @PostConstruct} on beans created outside Spring.
+ */
+final class Fields {
+
+    private Fields() {
+    }
+
+    static <T> T set(T target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException("No field '" + name + "' on " + target.getClass().getSimpleName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+        return target;
+    }
+
+    static <T> T init(T target) {
+        Method init = ReflectionUtils.findMethod(target.getClass(), "init");
+        if (init == null) {
+            throw new IllegalArgumentException("No init() on " + target.getClass().getSimpleName());
+        }
+        ReflectionUtils.makeAccessible(init);
+        ReflectionUtils.invokeMethod(init, target);
+        return target;
+    }
+}
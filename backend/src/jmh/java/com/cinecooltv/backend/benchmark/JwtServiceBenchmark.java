@@ -0,0 +1,52 @@
+package com.cinecooltv.backend.benchmark;
+
+import com.cinecooltv.backend.auth.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login) and token checks (every authenticated request).
+ * {@code verifyCached} is the steady-state filter path, {@code extractEmail}
+ * a full parse + signature check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) secret[i] = (byte) (i * 7 + 3);
+
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        Fields.set(jwtService, "secretKey", Base64.getEncoder().encodeToString(secret));
+        Fields.set(jwtService, "jwtExpiration", 86_400_000L);
+        Fields.set(jwtService, "cacheMaxEntries", 10_000L);
+        Fields.init(jwtService);
+
+        token = jwtService.generateToken("bench@cinecooltv.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("bench@cinecooltv.com");
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtService.extractEmail(token);
+    }
+
+    @Benchmark
+    public Optional<JwtService.VerifiedToken> verifyCached() {
+        return jwtService.verify(token);
+    }
+}
@@ -0,0 +1,64 @@
+package com.cinecooltv.backend.benchmark;
+
+import com.cinecooltv.backend.controller.MovieController;
+import com.cinecooltv.backend.service.MovieEnrichmentService;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a TMDB search/multi page and mapping it to the cards the frontend renders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TmdbMappingBenchmark {
+
+    private String body;
+    private JSONArray results;
+
+    @Setup
+    public void setup() {
+        JSONArray page = new JSONArray();
+        for (int i = 0; i < 20; i++) {
+            JSONObject item = new JSONObject()
+                    .put("id", 27205 + i)
+                    .put("media_type", i % 3 == 0 ? "tv" : "movie")
+                    .put("poster_path", "/oYuLEt3zVCKq57qu2F8dT7NIa6f" + i + ".jpg")
+                    .put("backdrop_path", "/8ZTVqvKDQ8emSGUEMjsS4yHAwrp" + i + ".jpg")
+                    .put("overview", "Cobb, a skilled thief who commits corporate espionage by infiltrating "
+                            + "the subconscious of his targets, is offered a chance to regain his old life.")
+                    .put("vote_average", 8.4)
+                    .put("vote_count", 36000)
+                    .put("popularity", 120.5 - i)
+                    .put("genre_ids", new JSONArray(List.of(28, 878, 12)));
+            if (i % 3 == 0) {
+                item.put("name", "Series " + i).put("first_air_date", "2017-12-01");
+            } else {
+                item.put("title", "Movie " + i).put("release_date", "2010-07-15");
+            }
+            page.put(item);
+        }
+        body = new JSONObject().put("page", 1).put("total_results", 20).put("results", page).toString();
+        results = page;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parseAndMapSearch() {
+        return MovieController.toSearchResults(new JSONObject(body).getJSONArray("results"));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapSearch() {
+        return MovieController.toSearchResults(results);
+    }
+
+    @Benchmark
+    public Map<String, Object> enrichmentCard() {
+        return MovieEnrichmentService.toCard(results.getJSONObject(1));
+    }
+}
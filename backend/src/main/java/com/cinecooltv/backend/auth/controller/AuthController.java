@@ -4,6 +4,9 @@ import com.cinecooltv.backend.auth.dto.OtpVerificationRequest;
 import com.cinecooltv.backend.auth.dto.SignupRequest;
 import com.cinecooltv.backend.auth.dto.LoginRequest;
 import com.cinecooltv.backend.auth.service.AuthService;
+import com.cinecooltv.backend.exception.PasswordHashingOverloadedException;
+import com.cinecooltv.backend.service.RateLimiter;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,13 +18,21 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final RateLimiter rateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, RateLimiter rateLimiter) {
         this.authService = authService;
+        this.rateLimiter = rateLimiter;
     }
 
+    // 🚦 Per-email limits are checked before each try block (→ 429 from GlobalExceptionHandler);
+    //    per-IP limits already ran in RateLimitFilter
+    // ✉️ @Valid rejects malformed emails with a 400 before an OTP email is ever queued
+
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@RequestBody SignupRequest request) {
+    public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/signup", request.getEmail());
+
         try {
             AuthService.SignupResult result = authService.signup(
                     request.getEmail(),
@@ -38,6 +49,9 @@ public class AuthController {
             );
 
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingOverloadedException e) {
+            // → 503 + Retry-After from GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
@@ -46,6 +60,8 @@ public class AuthController {
 
     @PostMapping("/verify-signup-otp")
     public ResponseEntity<?> verifySignupOtp(@RequestBody OtpVerificationRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/verify-signup-otp", request.getEmail());
+
         try {
             authService.verifySignupOtp(request.getEmail(), request.getOtp());
             return ResponseEntity.ok(Map.of(
@@ -59,12 +75,17 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/login", request.getEmail());
+
         try {
             authService.login(request.getEmail(), request.getPassword());
             return ResponseEntity.ok(Map.of(
                     "message", "OTP sent to your email. Please verify to complete login."
             ));
+        } catch (PasswordHashingOverloadedException e) {
+            // → 503 + Retry-After from GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", e.getMessage()));
@@ -73,6 +94,8 @@ public class AuthController {
 
     @PostMapping("/verify-login-otp")
     public ResponseEntity<?> verifyLoginOtp(@RequestBody OtpVerificationRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/verify-login-otp", request.getEmail());
+
         try {
             String token = authService.verifyLoginOtp(request.getEmail(), request.getOtp());
             return ResponseEntity.ok(Map.of(
@@ -87,6 +110,8 @@ public class AuthController {
 
     @PostMapping("/resend-otp")
     public ResponseEntity<?> resendOtp(@RequestBody Map<String, String> request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/resend-otp", request.get("email"));
+
         try {
             authService.resendOtp(request.get("email"));
             return ResponseEntity.ok(Map.of(
@@ -100,6 +125,8 @@ public class AuthController {
 
     @PostMapping("/verify-otp")
     public ResponseEntity<?> verifyOtp(@RequestBody OtpVerificationRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/verify-otp", request.getEmail());
+
         try {
             authService.verifyOtp(request.getEmail(), request.getOtp());
             return ResponseEntity.ok(Map.of(
@@ -112,10 +139,15 @@ public class AuthController {
     }
 
     @PostMapping("/direct-login")
-    public ResponseEntity<?> directLogin(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> directLogin(@Valid @RequestBody LoginRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/direct-login", request.getEmail());
+
         try {
             String message = authService.directLogin(request.getEmail(), request.getPassword());
             return ResponseEntity.ok(Map.of("message", message));
+        } catch (PasswordHashingOverloadedException e) {
+            // → 503 + Retry-After from GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", e.getMessage()));
@@ -123,10 +155,15 @@ public class AuthController {
     }
 
     @PostMapping("/initiate-login")
-    public ResponseEntity<?> initiateLogin(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> initiateLogin(@Valid @RequestBody LoginRequest request) {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/initiate-login", request.getEmail());
+
         try {
             String message = authService.initiateLogin(request.getEmail(), request.getPassword());
             return ResponseEntity.ok(Map.of("message", message));
+        } catch (PasswordHashingOverloadedException e) {
+            // → 503 + Retry-After from GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", e.getMessage()));
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -57,14 +58,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        // ✅ USE YOUR JwtService METHOD
-        String email = jwtService.extractEmail(token);
+        // ✅ One verification per request (cached after the first one)
+        Optional<JwtService.VerifiedToken> verified = jwtService.verify(token);
 
         if (
-                email != null &&
-                        SecurityContextHolder.getContext().getAuthentication() == null &&
-                        jwtService.isTokenValid(token)
+                verified.isPresent() &&
+                        SecurityContextHolder.getContext().getAuthentication() == null
         ) {
+            String email = verified.get().email();
+
             UserDetails userDetails =
                     userDetailsService.loadUserByUsername(email);
 
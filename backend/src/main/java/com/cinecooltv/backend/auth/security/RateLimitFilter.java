@@ -0,0 +1,99 @@
+package com.cinecooltv.backend.auth.security;
+
+import com.cinecooltv.backend.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+
+/**
+ * Rejects over-limit requests with 429 before any body parsing or DB work.
+ * <p>
+ * Added to the security chain twice: keyed by client IP in front of the JWT
+ * filter, and keyed by the signed-in user right after it. Per-email limits
+ * need the JSON body, so AuthController checks those once Spring has bound it.
+ * Not a bean on purpose — that would also register it as a plain servlet filter.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_BODY = "{\"error\":\"Too many requests. Please slow down.\"}";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimiter.Scope scope;
+    private final boolean trustForwardedFor;
+
+    private RateLimitFilter(RateLimiter rateLimiter, RateLimiter.Scope scope, boolean trustForwardedFor) {
+        this.rateLimiter = rateLimiter;
+        this.scope = scope;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public static RateLimitFilter byIp(RateLimiter rateLimiter, boolean trustForwardedFor) {
+        return new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, trustForwardedFor);
+    }
+
+    public static RateLimitFilter byPrincipal(RateLimiter rateLimiter) {
+        return new RateLimitFilter(rateLimiter, RateLimiter.Scope.PRINCIPAL, false);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equalsIgnoreCase(request.getMethod())
+                || !rateLimiter.covers(scope, path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long retryAfter = rateLimiter.tryAcquire(scope, path(request), key(request));
+        if (retryAfter > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REJECTED_BODY);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Match on the path Spring MVC routes on: decoded, without ;params or the
+    // context path. The raw URI would let /api/ai/%61sk slip past the /api/ai/ask rule
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    private String key(HttpServletRequest request) {
+        if (scope == RateLimiter.Scope.PRINCIPAL) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+        }
+        return clientIp(request);
+    }
+
+    // Behind Render's proxy the real client is the last X-Forwarded-For hop —
+    // earlier entries come from the client and can be forged
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.lastIndexOf(',');
+                return forwarded.substring(comma + 1).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -15,22 +15,22 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final OtpService otpService;
-    private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsService;
 
     public AuthService(
             UserRepository userRepository,
             OtpService otpService,
-            EmailService emailService,
             PasswordEncoder passwordEncoder,
-            JwtService jwtService
+            JwtService jwtService,
+            UserDetailsServiceImpl userDetailsService
     ) {
         this.userRepository = userRepository;
         this.otpService = otpService;
-        this.emailService = emailService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
     }
 
     // ✅ FIXED: OTP-friendly signup logic
@@ -42,24 +42,15 @@ public class AuthService {
 
             // If user exists but NOT verified → resend OTP
             if (!existingUser.isVerified()) {
-                try {
-                    // Generate and send OTP
-                    String otp = otpService.createOtp(email);
-                    emailService.sendOtpEmail(email, otp);
-
-                    return new SignupResult(
-                            true,
-                            "OTP resent to your email. Please verify to complete registration.",
-                            true,
-                            SignupStatus.OTP_RESENT
-                    );
-                } catch (Exception e) {
-                    System.err.println("❌ OTP email failed for " + email + ": " + e.getMessage());
-                    throw new ResponseStatusException(
-                            HttpStatus.SERVICE_UNAVAILABLE,
-                            "Unable to send OTP email. Please try again."
-                    );
-                }
+                // Generate OTP and queue the email
+                otpService.createAndSendOtp(email);
+
+                return new SignupResult(
+                        true,
+                        "OTP resent to your email. Please verify to complete registration.",
+                        true,
+                        SignupStatus.OTP_RESENT
+                );
             }
 
             // If already verified → block signup
@@ -78,30 +69,15 @@ public class AuthService {
         user.setCreatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        userDetailsService.evict(email);
 
-        // Generate OTP
-        String otp = otpService.createOtp(email);
-
-        boolean emailSent = false;
-        String message;
-
-        try {
-            emailService.sendOtpEmail(email, otp);
-            emailSent = true;
-            message = "Signup successful. OTP sent to email.";
-        } catch (Exception e) {
-            // Log error but throw exception instead
-            System.err.println("❌ OTP email failed for " + email + ": " + e.getMessage());
-            throw new ResponseStatusException(
-                    HttpStatus.SERVICE_UNAVAILABLE,
-                    "Unable to send OTP email. Please try again."
-            );
-        }
+        // Generate OTP and queue the email (delivered by the outbox dispatcher)
+        otpService.createAndSendOtp(email);
 
         return new SignupResult(
                 true,
-                message,
-                emailSent,
+                "Signup successful. OTP sent to email.",
+                true,
                 SignupStatus.OTP_SENT
         );
     }
@@ -119,6 +95,9 @@ public class AuthService {
         user.setVerified(true);
         user.setVerifiedAt(LocalDateTime.now());
         userRepository.save(user);
+
+        // 🔄 Cached principal reflects the old verification state
+        userDetailsService.evict(email);
     }
 
     // 🔁 LOGIN FLOW
@@ -143,19 +122,8 @@ public class AuthService {
             );
         }
 
-        // Generate OTP for login
-        String otp = otpService.createOtp(email);
-
-        // Send OTP email
-        try {
-            emailService.sendOtpEmail(email, otp);
-        } catch (Exception e) {
-            System.err.println("❌ Login OTP email failed for " + email + ": " + e.getMessage());
-            throw new ResponseStatusException(
-                    HttpStatus.SERVICE_UNAVAILABLE,
-                    "Unable to send OTP email. Please try again."
-            );
-        }
+        // Generate OTP for login and queue the email
+        otpService.sendLoginOtp(email);
     }
 
     // 🔁 OTP VERIFY FLOW for login
@@ -183,19 +151,8 @@ public class AuthService {
                         "User not found"
                 ));
 
-        // Generate new OTP
-        String otp = otpService.createOtp(email);
-
-        // Send OTP email
-        try {
-            emailService.sendOtpEmail(email, otp);
-        } catch (Exception e) {
-            System.err.println("❌ Resend OTP email failed for " + email + ": " + e.getMessage());
-            throw new ResponseStatusException(
-                    HttpStatus.SERVICE_UNAVAILABLE,
-                    "Unable to send OTP email. Please try again."
-            );
-        }
+        // Generate new OTP and queue the email
+        otpService.createAndSendOtp(email);
     }
 
     // Keep existing methods for backward compatibility
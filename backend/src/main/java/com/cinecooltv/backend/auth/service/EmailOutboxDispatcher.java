@@ -0,0 +1,242 @@
+package com.cinecooltv.backend.auth.service;
+
+import com.cinecooltv.backend.model.EmailOutbox;
+import com.cinecooltv.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in batches.
+ * <p>
+ * A poll claims due rows by pushing their next attempt out by a lease, commits,
+ * and only then calls Brevo, so no DB connection is held during the HTTP call.
+ * If the instance dies mid-send the lease runs out and the rows are picked up
+ * again. Failures back off exponentially (with jitter); rejected requests (4xx
+ * other than 429), expired OTPs and rows out of attempts are marked FAILED. A
+ * rejected batch is retried one message at a time, so only the recipients Brevo
+ * actually refuses are failed.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-initial-ms:2000}")
+    private long backoffInitialMs;
+
+    @Value("${email.outbox.backoff-max-ms:120000}")
+    private long backoffMaxMs;
+
+    @Value("${email.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Refreshed on every poll, so a metrics scrape never hits the database
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository outboxRepository,
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending email")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.outbox.failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("email.outbox.batch")
+                .description("Brevo batch send duration")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            List<EmailOutbox> batch;
+            // Keep going while full batches come back, then wait for the next poll
+            do {
+                batch = claimBatch();
+                if (!batch.isEmpty()) send(batch);
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("❌ Email outbox dispatch failed: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    @Scheduled(cron = "${email.outbox.cleanup-cron:0 15 * * * *}")
+    public void cleanup() {
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteFinishedBefore(
+                EmailOutbox.Status.PENDING, LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.debug("🧹 Removed {} finished outbox emails", deleted);
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepository.lockDueBatch(now, batchSize);
+            // Flushed on commit; other instances skip these rows until the lease ends
+            due.forEach(email -> email.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+            return due;
+        });
+    }
+
+    private void send(List<EmailOutbox> batch) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Expired OTPs are useless to the user, don't send them
+        List<EmailOutbox> expired = batch.stream().filter(e -> e.getExpiresAt().isBefore(now)).toList();
+        List<EmailOutbox> live = batch.stream().filter(e -> !e.getExpiresAt().isBefore(now)).toList();
+        if (!expired.isEmpty()) {
+            expired.forEach(e -> fail(e, "OTP expired before delivery"));
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(expired));
+        }
+        if (live.isEmpty()) return;
+
+        List<EmailService.OtpEmail> emails = live.stream()
+                .map(e -> new EmailService.OtpEmail(e.getToEmail(), e.getOtp()))
+                .toList();
+
+        Timer.Sample sample = Timer.start();
+        try {
+            emailService.sendOtpBatch(emails);
+            sample.stop(batchTimer);
+
+            List<Long> ids = live.stream().map(EmailOutbox::getId).toList();
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxRepository.markSent(ids, EmailOutbox.Status.SENT, LocalDateTime.now()));
+            sentCounter.increment(ids.size());
+        } catch (Exception e) {
+            sample.stop(batchTimer);
+            boolean permanent = isPermanent(e);
+
+            // One bad recipient rejects the whole request; find it instead of dropping everyone
+            if (permanent && live.size() > 1) {
+                log.warn("⚠️ Brevo rejected a batch of {}, sending one by one: {}", live.size(), e.getMessage());
+                sendIndividually(live);
+                return;
+            }
+
+            log.warn("⚠️ Brevo batch of {} failed{}: {}", live.size(), permanent ? " (not retrying)" : "", e.getMessage());
+
+            live.forEach(email -> {
+                if (permanent) fail(email, e.getMessage());
+                else retryLater(email, e.getMessage());
+            });
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(live));
+        }
+    }
+
+    // Only the rows Brevo rejects are marked FAILED; the rest are sent or retried
+    private void sendIndividually(List<EmailOutbox> emails) {
+        List<Long> sent = new ArrayList<>();
+        List<EmailOutbox> unsent = new ArrayList<>();
+
+        for (EmailOutbox email : emails) {
+            try {
+                emailService.sendOtpEmail(email.getToEmail(), email.getOtp());
+                sent.add(email.getId());
+            } catch (Exception e) {
+                if (isPermanent(e)) fail(email, e.getMessage());
+                else retryLater(email, e.getMessage());
+                unsent.add(email);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) outboxRepository.markSent(sent, EmailOutbox.Status.SENT, LocalDateTime.now());
+            if (!unsent.isEmpty()) outboxRepository.saveAll(unsent);
+        });
+        sentCounter.increment(sent.size());
+    }
+
+    // 4xx other than 429: Brevo will reject the same request again
+    private static boolean isPermanent(Exception e) {
+        return e instanceof HttpClientErrorException http
+                && http.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private void retryLater(EmailOutbox email, String error) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+
+        if (attempts >= maxAttempts) {
+            fail(email, error);
+            return;
+        }
+
+        long backoff = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        email.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(jittered)));
+        email.setLastError(truncate(error));
+        retriedCounter.increment();
+    }
+
+    private void fail(EmailOutbox email, String error) {
+        email.setStatus(EmailOutbox.Status.FAILED);
+        email.setLastError(truncate(error));
+        failedCounter.increment();
+        log.error("❌ OTP email to {} failed permanently: {}", email.getToEmail(), error);
+    }
+
+    private void refreshLag() {
+        try {
+            pending.set(outboxRepository.countByStatus(EmailOutbox.Status.PENDING));
+            LocalDateTime oldest = outboxRepository.findOldestCreatedAt(EmailOutbox.Status.PENDING);
+            lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+        } catch (Exception e) {
+            log.debug("Outbox lag refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
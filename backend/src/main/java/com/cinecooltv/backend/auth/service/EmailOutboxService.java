@@ -0,0 +1,53 @@
+package com.cinecooltv.backend.auth.service;
+
+import com.cinecooltv.backend.model.EmailOutbox;
+import com.cinecooltv.backend.repository.EmailOutboxRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+@Service
+public class EmailOutboxService {
+
+    // local@domain.tld, no whitespace — Brevo rejects the whole batch for anything less
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final EmailOutboxRepository outboxRepository;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    /**
+     * Queues an OTP email. Joins the caller's transaction, so the email is only
+     * sent if the OTP itself was committed. Malformed addresses are refused
+     * with a 400 and roll the OTP back with them.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueueOtp(String toEmail, String otp, LocalDateTime expiresAt) {
+        if (!isValidAddress(toEmail)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid email address");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        EmailOutbox email = new EmailOutbox();
+        email.setToEmail(toEmail);
+        email.setOtp(otp);
+        email.setStatus(EmailOutbox.Status.PENDING);
+        email.setAttempts(0);
+        email.setNextAttemptAt(now);
+        email.setExpiresAt(expiresAt);
+        email.setCreatedAt(now);
+
+        outboxRepository.save(email);
+    }
+
+    static boolean isValidAddress(String email) {
+        return email != null && email.length() <= 254 && EMAIL.matcher(email).matches();
+    }
+}
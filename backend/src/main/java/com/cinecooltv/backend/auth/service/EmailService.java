@@ -15,6 +15,12 @@ public class EmailService {
 
     private static final String BREVO_API_URL = "https://api.brevo.com/v3/smtp/email";
 
+    // Brevo fills {{params.otp}} per message version
+    private static final String OTP_HTML =
+            "<h2>Your OTP</h2>" +
+                    "<p><b>{{params.otp}}</b></p>" +
+                    "<p>This OTP expires in 5 minutes.</p>";
+
     @Value("${brevo.api.key}")
     private String apiKey;
 
@@ -24,44 +30,57 @@ public class EmailService {
     @Value("${brevo.sender.name}")
     private String senderName;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    public EmailService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
 
     public void sendOtpEmail(String toEmail, String otp) {
+        sendOtpBatch(List.of(new OtpEmail(toEmail, otp)));
+    }
+
+    /**
+     * Sends all OTP emails in one Brevo request (one message version per
+     * recipient). HTTP errors are thrown as-is so the caller can tell a
+     * rejected request (4xx) from a transient failure.
+     */
+    public void sendOtpBatch(List<OtpEmail> emails) {
+        if (emails.isEmpty()) return;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("api-key", apiKey);
 
+        List<Map<String, Object>> versions = emails.stream()
+                .map(email -> Map.<String, Object>of(
+                        "to", List.of(Map.of("email", email.toEmail())),
+                        "params", Map.of("otp", email.otp())
+                ))
+                .toList();
+
         Map<String, Object> body = Map.of(
                 "sender", Map.of(
                         "email", senderEmail,
                         "name", senderName
                 ),
-                "to", List.of(
-                        Map.of("email", toEmail)
-                ),
                 "subject", "Your CineCoolTV OTP",
-                "htmlContent",
-                "<h2>Your OTP</h2>" +
-                        "<p><b>" + otp + "</b></p>" +
-                        "<p>This OTP expires in 5 minutes.</p>"
+                "htmlContent", OTP_HTML,
+                "messageVersions", versions
         );
 
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
 
-        try {
-            ResponseEntity<String> response =
-                    restTemplate.postForEntity(BREVO_API_URL, request, String.class);
+        ResponseEntity<String> response =
+                restTemplate.postForEntity(BREVO_API_URL, request, String.class);
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Brevo API failed");
-            }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Brevo API failed: " + response.getStatusCode());
+        }
 
-            log.info("✅ OTP email sent to {}", toEmail);
+        log.info("✅ {} OTP email(s) sent", emails.size());
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Brevo email failed: {}", e.getMessage());
-            throw new RuntimeException("Unable to send OTP email");
-        }
+    public record OtpEmail(String toEmail, String otp) {
     }
 }
@@ -4,31 +4,41 @@ import com.cinecooltv.backend.model.OtpVerification;
 import com.cinecooltv.backend.repository.OtpRepository;
 import com.cinecooltv.backend.repository.UserRepository;
 import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 
+@Slf4j
 @Service
 public class OtpService {
 
     private final OtpRepository otpRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
 
     // ✅ MANUAL CONSTRUCTOR (NO LOMBOK)
     public OtpService(
             OtpRepository otpRepository,
             UserRepository userRepository,
-            EmailService emailService
+            EmailOutboxService emailOutboxService
     ) {
         this.otpRepository = otpRepository;
         this.userRepository = userRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
     }
 
+    @Value("${otp.cleanup.batch-size:1000}")
+    private int cleanupBatchSize;
+
+    @Value("${otp.cleanup.grace-minutes:60}")
+    private long cleanupGraceMinutes;
+
     private static final SecureRandom RANDOM = new SecureRandom();
     private static final int MAX_ATTEMPTS = 5;
     private static final int OTP_VALIDITY_MINUTES = 10;
@@ -60,21 +70,24 @@ public class OtpService {
     }
 
     // 📩 Create & send OTP
+    //   The email goes to the outbox in the same transaction as the OTP and is
+    //   delivered by EmailOutboxDispatcher — no Brevo call on the request thread
     @Transactional
     public void createAndSendOtp(String email) {
         String otp = createOtp(email);
-        emailService.sendOtpEmail(email, otp);
+        emailOutboxService.enqueueOtp(email, otp, LocalDateTime.now().plusMinutes(OTP_VALIDITY_MINUTES));
     }
 
     // 📩 Login OTP
     @Transactional
     public void sendLoginOtp(String email) {
-        String otp = createOtp(email);
-        emailService.sendOtpEmail(email, otp);
+        createAndSendOtp(email);
     }
 
     // ✅ Verify OTP (NO auto user verification)
-    @Transactional
+    //   Rejections are thrown as ResponseStatusException but must still commit:
+    //   the attempt count and the deletes are what lock out brute-force guessing
+    @Transactional(dontRollbackOn = ResponseStatusException.class)
     public void verifyOtp(String email, String otp) {
 
         OtpVerification record = otpRepository
@@ -102,35 +115,50 @@ public class OtpService {
             );
         }
 
-        // Wrong OTP
+        // Wrong OTP — counted atomically in the database
         if (!record.getOtp().equals(otp)) {
-            int attempts = record.getAttempts() + 1;
-            record.setAttempts(attempts);
+            Integer attempts = otpRepository.incrementAttempts(record.getId());
 
-            if (attempts >= MAX_ATTEMPTS) {
-                otpRepository.delete(record);
+            if (attempts == null || attempts >= MAX_ATTEMPTS) {
+                otpRepository.deleteById(record.getId());
                 throw new ResponseStatusException(
                         HttpStatus.TOO_MANY_REQUESTS,
                         "Too many failed attempts. Request a new OTP."
                 );
             }
 
-            otpRepository.save(record);
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
                     "Invalid OTP"
             );
         }
 
-        // ✅ Correct OTP
-        record.setUsed(true);
-        otpRepository.save(record);
+        // ✅ Correct OTP — only one concurrent request can consume it
+        if (otpRepository.markUsed(record.getId()) == 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "OTP already used"
+            );
+        }
     }
 
     // 🧹 Cleanup expired OTPs ONLY (SAFE)
-    @Transactional
+    //   Bounded batches, each its own transaction; expired rows are kept for a
+    //   grace period so a late verify still says "OTP expired", not "not found"
+    @Scheduled(fixedDelayString = "${otp.cleanup.interval-ms:300000}", initialDelayString = "${otp.cleanup.initial-delay-ms:60000}")
     public void cleanupExpiredOtps() {
-        otpRepository.deleteByExpiryBefore(LocalDateTime.now());
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(cleanupGraceMinutes);
+        int total = 0;
+        int deleted;
+
+        do {
+            deleted = otpRepository.deleteExpiredBatch(cutoff, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+
+        if (total > 0) {
+            log.info("🧹 Deleted {} expired OTPs", total);
+        }
     }
 
     // 🔍 Check OTP validity without consuming it
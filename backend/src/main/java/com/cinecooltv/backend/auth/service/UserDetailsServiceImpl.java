@@ -2,25 +2,78 @@ package com.cinecooltv.backend.auth.service;
 
 import com.cinecooltv.backend.model.User;
 import com.cinecooltv.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Value("${auth.principal-cache.max-entries:10000}")
+    private long cacheMaxEntries;
+
+    @Value("${auth.principal-cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    // email → verified principal; only verified users are cached, never misses.
+    // AuthService evicts on verification/password changes, the TTL bounds the rest.
+    private Cache<String, CachedPrincipal> principals;
+
+    public UserDetailsServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        CachedPrincipal principal = principals.get(email, this::loadPrincipal);
+
+        // Fresh instance every time — Spring Security may erase credentials on it
+        return new org.springframework.security.core.userdetails.User(
+                principal.email(),
+                principal.passwordHash(),
+                USER_AUTHORITIES
+        );
+    }
+
+    /**
+     * Drops the cached principal so the next request reloads it from the database.
+     */
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+
+    private CachedPrincipal loadPrincipal(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -29,10 +82,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("User email not verified: " + email);
         }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
-        );
+        return new CachedPrincipal(user.getEmail(), user.getPassword());
+    }
+
+    private record CachedPrincipal(String email, String passwordHash) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.cinecooltv.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that leaves the servlet thread.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime, Boot
+ * moves Tomcat and the scheduler onto virtual threads and the beans below switch
+ * to virtual-thread executors too. Their former pool + queue size is kept as a
+ * concurrency limit, so upstream load stays bounded the same way. On older
+ * runtimes the property is ignored and the platform pools are used.
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig {
+
+    @Value("${ai.stream.pool-size:16}")
+    private int aiStreamPoolSize;
+
+    @Value("${ai.stream.queue-capacity:200}")
+    private int aiStreamQueueCapacity;
+
+    @Value("${tmdb.lookup.pool-size:32}")
+    private int tmdbLookupPoolSize;
+
+    @Value("${tmdb.lookup.queue-capacity:500}")
+    private int tmdbLookupQueueCapacity;
+
+    private final Environment environment;
+
+    public AsyncConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    void logThreadMode() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("🪶 Virtual threads enabled (Java {})", Runtime.version().feature());
+        } else if (requested) {
+            log.warn("⚠️ spring.threads.virtual.enabled is set but Java {} has no virtual threads — using platform pools",
+                    Runtime.version().feature());
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // 🧵 Platform threads (default)
+    // --------------------------------------------------------------------
+
+    // 📡 Runs SSE streams so the servlet thread is released right away
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor aiStreamExecutor() {
+        return pool(aiStreamPoolSize, aiStreamQueueCapacity, "ai-stream-");
+    }
+
+    // 🎬 Parallel TMDB lookups (AI enrichment fan-out)
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor tmdbLookupExecutor() {
+        return pool(tmdbLookupPoolSize, tmdbLookupQueueCapacity, "tmdb-lookup-");
+    }
+
+    // --------------------------------------------------------------------
+    // 🪶 Virtual threads
+    // --------------------------------------------------------------------
+
+    @Bean(name = "aiStreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualAiStreamExecutor() {
+        return virtual(aiStreamPoolSize + aiStreamQueueCapacity, "ai-stream-vt-");
+    }
+
+    @Bean(name = "tmdbLookupExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualTmdbLookupExecutor() {
+        return virtual(tmdbLookupPoolSize + tmdbLookupQueueCapacity, "tmdb-lookup-vt-");
+    }
+
+    // Runs the JDK HttpClient's response handling and async completions
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor outboundHttpExecutor() {
+        return virtual(SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY, "http-client-vt-");
+    }
+
+    private static ThreadPoolTaskExecutor pool(int size, int queueCapacity, String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(prefix);
+        return executor;
+    }
+
+    private static SimpleAsyncTaskExecutor virtual(int concurrencyLimit, String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+}
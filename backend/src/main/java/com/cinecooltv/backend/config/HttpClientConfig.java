@@ -0,0 +1,199 @@
+package com.cinecooltv.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One outbound HTTP client for Groq, TMDB and Brevo.
+ * <p>
+ * The JDK client keeps a keep-alive connection pool per host and negotiates
+ * HTTP/2 over ALPN where the host supports it. On top of that every host gets
+ * a concurrency limit, so a stalled upstream cannot tie up every worker thread.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.max-concurrency-per-host:64}")
+    private int defaultHostLimit;
+
+    // host:limit pairs, e.g. api.groq.com:32,api.brevo.com:8
+    @Value("${http.client.host-limits:}")
+    private String hostLimits;
+
+    @Value("${http.client.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    // In virtual-thread mode the client hands its work to virtual threads too
+    @Bean
+    public HttpClient outboundHttpClient(@Qualifier("outboundHttpExecutor") ObjectProvider<Executor> outboundHttpExecutor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        outboundHttpExecutor.ifAvailable(builder::executor);
+        return builder.build();
+    }
+
+    // Shared by the RestTemplate and by callers using the HttpClient directly (Groq async)
+    @Bean
+    public PerHostConcurrencyLimiter outboundHostLimiter() {
+        return new PerHostConcurrencyLimiter(defaultHostLimit, parseHostLimits(hostLimits), acquireTimeoutMs);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient outboundHttpClient,
+                                     PerHostConcurrencyLimiter outboundHostLimiter) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(outboundHostLimiter)
+                .build();
+    }
+
+    static Map<String, Integer> parseHostLimits(String spec) {
+        Map<String, Integer> limits = new HashMap<>();
+        if (spec == null || spec.isBlank()) return limits;
+
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length == 2) {
+                limits.put(parts[0].trim().toLowerCase(), Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return limits;
+    }
+
+    // --------------------------------------------------------------------
+    // 🚦 Per-host concurrency limit
+    //   The permit is held until the response is closed, so streamed bodies
+    //   (Groq SSE) count against the limit for as long as they are open.
+    //   Async callers of the HttpClient take the same permits through
+    //   tryAcquire / release, without waiting for one.
+    // --------------------------------------------------------------------
+    public static class PerHostConcurrencyLimiter implements ClientHttpRequestInterceptor {
+
+        private final int defaultLimit;
+        private final Map<String, Integer> hostLimits;
+        private final long acquireTimeoutMs;
+        private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+        PerHostConcurrencyLimiter(int defaultLimit, Map<String, Integer> hostLimits, long acquireTimeoutMs) {
+            this.defaultLimit = defaultLimit;
+            this.hostLimits = hostLimits;
+            this.acquireTimeoutMs = acquireTimeoutMs;
+        }
+
+        /**
+         * Takes a permit for the host if one is free right now. Every {@code true}
+         * must be matched by one {@link #release(String)}.
+         */
+        public boolean tryAcquire(String host) {
+            return permitsFor(host).tryAcquire();
+        }
+
+        public void release(String host) {
+            permitsFor(host).release();
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+                throws IOException {
+            String host = String.valueOf(request.getURI().getHost());
+            Semaphore semaphore = permitsFor(host);
+
+            try {
+                if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Too many concurrent requests to " + host);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for a connection to " + host, e);
+            }
+
+            try {
+                return new PermitReleasingResponse(execution.execute(request, body), semaphore);
+            } catch (IOException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+        }
+
+        private Semaphore permitsFor(String host) {
+            return permits.computeIfAbsent(host.toLowerCase(),
+                    h -> new Semaphore(hostLimits.getOrDefault(h, defaultLimit)));
+        }
+    }
+
+    private static class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate, Semaphore semaphore) {
+            this.delegate = delegate;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) semaphore.release();
+            }
+        }
+    }
+}
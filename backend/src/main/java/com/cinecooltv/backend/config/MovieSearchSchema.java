@@ -0,0 +1,51 @@
+package com.cinecooltv.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full-text search schema for the local catalog, which ddl-auto can't express.
+ * <p>
+ * {@code movies.search_vector} is a stored generated column (title weighted A,
+ * director B, genre C), so Postgres keeps it in sync on every insert/update and
+ * ranking reads it instead of re-parsing text. A GIN index on it serves the
+ * {@code @@} match. Both statements are idempotent and run after Hibernate has
+ * created the table.
+ */
+@Slf4j
+@Component
+public class MovieSearchSchema implements ApplicationRunner {
+
+    static final String ADD_SEARCH_VECTOR = """
+            ALTER TABLE movies ADD COLUMN IF NOT EXISTS search_vector tsvector
+            GENERATED ALWAYS AS (
+                setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                setweight(to_tsvector('simple', coalesce(director, '')), 'B') ||
+                setweight(to_tsvector('simple', coalesce(genre, '')), 'C')
+            ) STORED
+            """;
+
+    static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_movies_search_vector ON movies USING GIN (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieSearchSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+            jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+            log.info("🔎 Movie search index ready");
+        } catch (Exception e) {
+            // Search degrades, the rest of the app keeps working
+            log.error("❌ Could not create the movie search index: {}", e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,13 @@ package com.cinecooltv.backend.config;
 
 import com.cinecooltv.backend.auth.security.JwtAuthenticationEntryPoint;
 import com.cinecooltv.backend.auth.security.JwtAuthenticationFilter;
+import com.cinecooltv.backend.auth.security.RateLimitFilter;
+import com.cinecooltv.backend.controller.CatalogController;
+import com.cinecooltv.backend.controller.MovieController;
+import com.cinecooltv.backend.service.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,19 +31,33 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final RateLimiter rateLimiter;
+
+    @Value("${rate-limit.trust-forwarded-for:true}")
+    private boolean trustForwardedFor;
 
     public SecurityConfig(
             JwtAuthenticationFilter jwtAuthenticationFilter,
-            JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint
+            JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
+            RateLimiter rateLimiter
     ) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
+        this.rateLimiter = rateLimiter;
     }
 
     // 🔐 ✅ THIS WAS MISSING — PASSWORD ENCODER BEAN
+    //   BCrypt runs on a bounded pool (0 threads = one per CPU core)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password.hash-threads:0}") int hashThreads,
+            @Value("${auth.password.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password.retry-after-seconds:2}") long retryAfterSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity,
+                retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -60,9 +81,15 @@ public class SecurityConfig {
                         // ✅ Allow preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // ✅ Async re-dispatch (SSE / async results) was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ✅ Auth endpoints
                         .requestMatchers("/api/auth/**").permitAll()
 
+                        // ✅ Public TMDB data (catalog rows, home feed, title details)
+                        .requestMatchers(HttpMethod.GET, "/api/catalog/**", "/api/home", "/api/titles/**").permitAll()
+
                         // ✅ Health
                         .requestMatchers("/actuator/health").permitAll()
 
@@ -74,6 +101,16 @@ public class SecurityConfig {
                 .addFilterBefore(
                         jwtAuthenticationFilter,
                         UsernamePasswordAuthenticationFilter.class
+                )
+
+                // 🚦 Rate limits: per IP before the JWT check, per user after it
+                .addFilterBefore(
+                        RateLimitFilter.byIp(rateLimiter, trustForwardedFor),
+                        JwtAuthenticationFilter.class
+                )
+                .addFilterAfter(
+                        RateLimitFilter.byPrincipal(rateLimiter),
+                        JwtAuthenticationFilter.class
                 );
 
         return http.build();
@@ -95,6 +132,7 @@ public class SecurityConfig {
         ));
 
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of(MovieController.NEXT_CURSOR_HEADER, CatalogController.VERSION_HEADER));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -1,12 +1,26 @@
 package com.cinecooltv.backend.controller;
 
+import com.cinecooltv.backend.service.AiAnswerCache;
+import com.cinecooltv.backend.service.AiContextBuilder;
+import com.cinecooltv.backend.service.AiProvider;
+import com.cinecooltv.backend.service.AiProviderRouter;
+import com.cinecooltv.backend.service.AiSessionStore;
+import com.cinecooltv.backend.service.MovieEnrichmentService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.http.*;
-import org.json.*;
+
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/ai")
 public class AiController {
@@ -17,224 +31,234 @@ public class AiController {
     @Value("${GROQ_API_KEY}")
     private String groqApiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${ai.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
 
     // ------------------------------
-    // 🧠 Conversation Memory (Last 10 Messages) - Per Session
+    // 🧠 Conversation Memory (bounded, per session)
     // ------------------------------
-    private final Map<String, List<String>> conversationSessions = new HashMap<>();
+    private final AiSessionStore sessionStore;
+    private final AiProviderRouter providerRouter;
+    private final MovieEnrichmentService enrichmentService;
+    private final AiAnswerCache answerCache;
+    private final AiContextBuilder contextBuilder;
+    private final Executor aiStreamExecutor;
+
+    public AiController(
+            AiSessionStore sessionStore,
+            AiProviderRouter providerRouter,
+            MovieEnrichmentService enrichmentService,
+            AiAnswerCache answerCache,
+            AiContextBuilder contextBuilder,
+            @Qualifier("aiStreamExecutor") Executor aiStreamExecutor
+    ) {
+        this.sessionStore = sessionStore;
+        this.providerRouter = providerRouter;
+        this.enrichmentService = enrichmentService;
+        this.answerCache = answerCache;
+        this.contextBuilder = contextBuilder;
+        this.aiStreamExecutor = aiStreamExecutor;
+    }
 
+    // Async: the servlet thread is released while the provider and TMDB are working
     @PostMapping("/ask")
-    public ResponseEntity<Map<String, Object>> askAI(@RequestBody Map<String, Object> request) {
-        System.out.println("==========================================");
-        System.out.println("▶ RECEIVED AI REQUEST: " + request);
-
-        // 🔥🔥🔥 STEP 1: Add this line at the TOP of askAI()
-        System.out.println("🔥🔥🔥 GROQ KEY LOADED: " + groqApiKey);
-
-        // Debug: Check if API key is loaded
-        System.out.println("▶ GROQ API KEY LOADED: " + (groqApiKey != null && !groqApiKey.isEmpty() ? "YES (first 10 chars): " + groqApiKey.substring(0, Math.min(10, groqApiKey.length())) : "NO"));
-
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> askAI(@RequestBody Map<String, Object> request) {
         String question = (String) request.get("question");
         String sessionId = (String) request.get("sessionId");
 
         if (sessionId == null) sessionId = "default";
 
-        conversationSessions.putIfAbsent(sessionId, new ArrayList<>());
-        List<String> conversationHistory = conversationSessions.get(sessionId);
-
         if (question == null || question.trim().isEmpty()) {
-            System.out.println("❌ EMPTY QUESTION RECEIVED");
-            return ResponseEntity.badRequest().body(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
                     "answer", "Please enter a valid movie/series question.",
                     "movies", new ArrayList<>()
-            ));
+            )));
         }
 
-        System.out.println("▶ PROCESSING QUESTION: " + question);
+        log.debug("▶ AI question: {}", question);
+
+        // Snapshot previous memory, then add question
+        List<String> conversationHistory = sessionStore.history(sessionId);
+        sessionStore.append(sessionId, "User: " + question);
+
+        // 🧱 System prompt + as much recent memory as fits the token budget
+        AiContextBuilder.PromptContext context = contextBuilder.build(conversationHistory, question);
+
+        // ⚡ Answer cache (opt out per request with "cache": false)
+        boolean useCache = !Boolean.FALSE.equals(request.get("cache"));
+        AiAnswerCache.Key cacheKey = cacheKeyFor(question, providerRouter.primary(), context);
+
+        if (useCache) {
+            Optional<AiAnswerCache.CachedAnswer> cached = answerCache.get(cacheKey);
+            if (cached.isPresent()) {
+                sessionStore.append(sessionId, "AI: " + cached.get().answer());
+                log.debug("⚡ AI answer cache hit");
+                return CompletableFuture.completedFuture(ResponseEntity.ok(Map.of(
+                        "answer", cached.get().answer(),
+                        "movies", cached.get().movies(),
+                        "promptTokens", 0
+                )));
+            }
+        }
 
-        // Add question
-        conversationHistory.add("User: " + question);
-        if (conversationHistory.size() > 10) conversationHistory.remove(0);
+        log.debug("▶ {} messages, ~{} prompt tokens", context.messageCount(), context.promptTokens());
 
-        try {
-            // Build conversation for Groq
-            JSONArray messages = new JSONArray();
-
-            // System prompt
-            messages.put(new JSONObject()
-                    .put("role", "system")
-                    .put("content", """
-                        You are CineCoolAI — an intelligent movie & series analyst.
-                        
-                        Your abilities:
-                        • Understand ANY question type (comparison, why, how, what, rankings, reviews, summaries).
-                        • Automatically adapt response structure based on question type.
-                        • Use conversation memory to continue context — NEVER ask the user to repeat.
-                        • Provide deep reasoning, cinematic insights, and clear explanations.
-                        • Keep responses clean, compact, and mobile-friendly.
-                        • Use small emojis only — avoid BIG headers or oversized text.
-                        
-                        General Style:
-                        • Short paragraphs, clean bullet points.
-                        • No overuse of bold; clarity is priority.
-                        • Use emojis like 🎬 ⭐ 🔍 🥇 🎭 📺 💡
-                        • For comparisons → provide detailed head-to-head breakdowns.
-                        • For follow-up questions → continue naturally using stored memory.
-                        """));
-
-            // Add previous memory (excluding current question which is already added)
-            for (String entry : conversationHistory) {
-                if (entry.startsWith("User:") && !entry.equals("User: " + question)) {
-                    messages.put(new JSONObject()
-                            .put("role", "user")
-                            .put("content", entry.substring(6)));
-                } else if (entry.startsWith("AI:")) {
-                    messages.put(new JSONObject()
-                            .put("role", "assistant")
-                            .put("content", entry.substring(4)));
-                }
-            }
+        String finalSessionId = sessionId;
+        return providerRouter.completeAsync(context)
+                .thenCompose(result -> {
+                    String aiResponse = result.answer();
 
-            // Add current user question
-            messages.put(new JSONObject()
-                    .put("role", "user")
-                    .put("content", question));
-
-            // Build request body
-            JSONObject body = new JSONObject();
-            body.put("model", "llama-3.1-8b-instant");
-            body.put("messages", messages);
-            body.put("temperature", 0.7);
-            body.put("max_tokens", 1024);
-
-            // 🔥🔥🔥 STEP 2: Add this line before sending request
-            System.out.println("🔥🔥🔥 SENDING BODY TO GROQ: " + body.toString());
-
-            // Debug: Print the request body being sent to Groq
-            System.out.println("▶ SENDING TO GROQ API:");
-            System.out.println("URL: https://api.groq.com/openai/v1/chat/completions");
-            System.out.println("HEADERS: Authorization: Bearer " + (groqApiKey != null ? "PRESENT" : "MISSING"));
-            System.out.println("BODY LENGTH: " + body.toString().length() + " chars");
-            System.out.println("MESSAGE COUNT: " + messages.length());
-
-            // Setup HTTP request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + groqApiKey);
-
-            HttpEntity<String> entity = new HttpEntity<>(body.toString(), headers);
-
-            System.out.println("▶ CALLING GROQ API...");
-
-            // Call Groq API
-            ResponseEntity<String> groqResponse = restTemplate.postForEntity(
-                    "https://api.groq.com/openai/v1/chat/completions",
-                    entity,
-                    String.class
-            );
-
-            System.out.println("✅ GROQ RESPONSE STATUS: " + groqResponse.getStatusCode());
-            System.out.println("✅ GROQ RESPONSE HEADERS: " + groqResponse.getHeaders());
-
-            // Parse Groq response
-            JSONObject resJson = new JSONObject(groqResponse.getBody());
-            String aiResponse = resJson
-                    .getJSONArray("choices")
-                    .getJSONObject(0)
-                    .getJSONObject("message")
-                    .getString("content");
-
-            // Save AI response in memory
-            conversationHistory.add("AI: " + aiResponse);
-            if (conversationHistory.size() > 10) conversationHistory.remove(0);
-
-            // Extract movies from response
-            List<Map<String, Object>> movies = extractMoviesFromText(aiResponse);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("answer", aiResponse);
-            response.put("movies", movies);
-
-            System.out.println("✅ SUCCESS! Groq Response (first 150 chars): " +
-                    aiResponse.substring(0, Math.min(150, aiResponse.length())) + "...");
-            System.out.println("✅ Movies extracted: " + movies.size());
-            System.out.println("==========================================");
-
-            return ResponseEntity.ok(response);
+                    // Save AI response in memory
+                    sessionStore.append(finalSessionId, "AI: " + aiResponse);
 
-        } catch (Exception e) {
-            // ✅ THE CORRECT FIX - Option 1 (BEST)
-            System.out.println("🔥🔥🔥 GROQ ERROR: " + e.getMessage());
-            System.out.println("🔥🔥🔥 ERROR TYPE: " + e.getClass().getSimpleName());
-            e.printStackTrace();
+                    // Extract movies from response
+                    return enrichmentService.extractMoviesFromTextAsync(aiResponse).thenApply(movies -> {
+                        answerCache.put(cacheKeyFor(question, result.provider(), context), aiResponse, movies);
 
-            String fallbackResponse =
-                    "I'm CineCoolAI! I can help you analyze movies and TV shows. " +
-                            "Based on your question: \"" + question + "\", " +
-                            "I would recommend checking out popular streaming platforms " +
-                            "and audience reviews. (Groq API unavailable)";
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("answer", aiResponse);
+                        response.put("movies", movies);
+                        response.put("promptTokens", context.promptTokens());
+                        response.put("provider", result.provider().name());
 
-            conversationHistory.add("AI: " + fallbackResponse);
-            if (conversationHistory.size() > 10) conversationHistory.remove(0);
+                        log.debug("✅ {} answered ({} chars, {} movies)",
+                                result.provider().name(), aiResponse.length(), movies.size());
 
-            System.out.println("⚠️ USING FALLBACK RESPONSE");
-            System.out.println("==========================================");
+                        return ResponseEntity.ok(response);
+                    });
+                })
+                .exceptionally(e -> {
+                    log.warn("🔥 AI request failed, using fallback answer: {}", e.getMessage());
 
-            return ResponseEntity.ok(Map.of(
-                    "answer", fallbackResponse,
-                    "movies", new ArrayList<>()
-            ));
-        }
+                    String fallbackResponse = fallbackAnswer(question);
+
+                    sessionStore.append(finalSessionId, "AI: " + fallbackResponse);
+
+                    return ResponseEntity.ok(Map.of(
+                            "answer", fallbackResponse,
+                            "movies", new ArrayList<>()
+                    ));
+                });
     }
 
     // --------------------------------------------------------------------
-    // 🎬 TMDB Search Logic
+    // 📡 Streaming answer (Server-Sent Events)
+    //   event "token"  → {"token": "..."} for every content delta
+    //   event "movies" → TMDB enrichment once the answer is complete
+    //   event "done"   → {"answer": "...", "promptTokens": n} full answer
+    //   event "error"  → {"answer": "..."} fallback answer
     // --------------------------------------------------------------------
-    private List<Map<String, Object>> extractMoviesFromText(String text) {
-        List<Map<String, Object>> resultsList = new ArrayList<>();
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter askAIStream(@RequestBody Map<String, Object> request, HttpServletResponse servletResponse) {
+        String question = (String) request.get("question");
+        String sessionId = (String) request.get("sessionId");
+        if (sessionId == null) sessionId = "default";
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
 
-        List<String> titles = new ArrayList<>();
-        String[] parts = text.split("\"");
+        // Stop reverse proxies (Render / nginx) from buffering the stream
+        servletResponse.setHeader("X-Accel-Buffering", "no");
+        servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
 
-        for (int i = 1; i < parts.length; i += 2) {
-            titles.add(parts[i]);
+        if (question == null || question.trim().isEmpty()) {
+            sendQuietly(emitter, "error", Map.of("answer", "Please enter a valid movie/series question."));
+            emitter.complete();
+            return emitter;
         }
 
-        if (titles.isEmpty()) return resultsList;
+        List<String> conversationHistory = sessionStore.history(sessionId);
+        sessionStore.append(sessionId, "User: " + question);
+
+        AiContextBuilder.PromptContext context = contextBuilder.build(conversationHistory, question);
 
-        List<String> limited = titles.subList(0, Math.min(5, titles.size()));
+        boolean useCache = !Boolean.FALSE.equals(request.get("cache"));
+        AiAnswerCache.Key cacheKey = cacheKeyFor(question, providerRouter.primary(), context);
 
-        for (String title : limited) {
-            try {
-                String url = String.format(
-                        "https://api.themoviedb.org/3/search/multi?api_key=%s&query=%s",
-                        tmdbKey, title.replace(" ", "%20")
-                );
+        // ⚡ Cached answer goes out as a single token
+        Optional<AiAnswerCache.CachedAnswer> cached = useCache ? answerCache.get(cacheKey) : Optional.empty();
+        if (cached.isPresent()) {
+            String answer = cached.get().answer();
+            sessionStore.append(sessionId, "AI: " + answer);
+            sendQuietly(emitter, "token", Map.of("token", answer));
+            sendQuietly(emitter, "movies", cached.get().movies());
+            sendQuietly(emitter, "done", Map.of("answer", answer));
+            emitter.complete();
+            return emitter;
+        }
 
-                String response = restTemplate.getForObject(url, String.class);
-                JSONObject json = new JSONObject(response);
+        String finalSessionId = sessionId;
+        try {
+            aiStreamExecutor.execute(() -> streamAnswer(emitter, finalSessionId, context, question));
+        } catch (RejectedExecutionException e) {
+            // Stream pool and queue are full — answer with the fallback instead of a dangling emitter
+            log.warn("🚦 AI stream pool full, answering with fallback");
+            String fallbackResponse = fallbackAnswer(question);
+            sessionStore.append(sessionId, "AI: " + fallbackResponse);
+            sendQuietly(emitter, "error", Map.of("answer", fallbackResponse, "busy", true));
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void streamAnswer(SseEmitter emitter, String sessionId,
+                              AiContextBuilder.PromptContext context, String question) {
+        StringBuilder answer = new StringBuilder();
+
+        try {
+            AiProviderRouter.AiResult result = providerRouter.stream(context, token -> {
+                answer.append(token);
+                emitter.send(SseEmitter.event().name("token").data(Map.of("token", token)));
+            });
 
-                JSONArray arr = json.getJSONArray("results");
-                if (arr.length() == 0) continue;
+            String aiResponse = result.answer();
+            sessionStore.append(sessionId, "AI: " + aiResponse);
 
-                JSONObject item = arr.getJSONObject(0);
+            List<Map<String, Object>> movies = enrichmentService.extractMoviesFromText(aiResponse);
+            answerCache.put(cacheKeyFor(question, result.provider(), context), aiResponse, movies);
 
-                Map<String, Object> m = new HashMap<>();
-                m.put("title", item.optString("title", item.optString("name", "Unknown")));
-                m.put("rating", item.optDouble("vote_average", 0));
-                m.put("poster", "https://image.tmdb.org/t/p/w500" + item.optString("poster_path", ""));
-                m.put("url", "https://www.themoviedb.org/" + item.optString("media_type", "movie") + "/" + item.getInt("id"));
+            emitter.send(SseEmitter.event().name("movies").data(movies));
+            emitter.send(SseEmitter.event().name("done").data(Map.of(
+                    "answer", aiResponse,
+                    "promptTokens", context.promptTokens(),
+                    "provider", result.provider().name()
+            )));
+            emitter.complete();
 
-                resultsList.add(m);
+        } catch (Exception e) {
+            log.warn("🔥 AI stream failed: {}", e.getMessage());
 
-            } catch (Exception ignore) {
-                // Ignore errors for individual movie searches
-                System.out.println("⚠️ Failed to search for movie: " + title);
+            // Stream broke after tokens went out — keep the partial answer
+            if (answer.length() > 0) {
+                sessionStore.append(sessionId, "AI: " + answer);
+                emitter.completeWithError(e);
+                return;
             }
+
+            String fallbackResponse = fallbackAnswer(question);
+            sessionStore.append(sessionId, "AI: " + fallbackResponse);
+            sendQuietly(emitter, "error", Map.of("answer", fallbackResponse));
+            emitter.complete();
         }
+    }
+
+    private static AiAnswerCache.Key cacheKeyFor(String question, AiProvider provider,
+                                                 AiContextBuilder.PromptContext context) {
+        return AiAnswerCache.key(question, provider.model(), provider.temperature(), context.includedHistory());
+    }
+
+    private static void sendQuietly(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException ignore) {
+            // Client disconnected
+        }
+    }
 
-        return resultsList;
+    private static String fallbackAnswer(String question) {
+        return "I'm CineCoolAI! I can help you analyze movies and TV shows. " +
+                "Based on your question: \"" + question + "\", " +
+                "I would recommend checking out popular streaming platforms " +
+                "and audience reviews. (AI provider unavailable)";
     }
 
     // --------------------------------------------------------------------
@@ -243,13 +267,13 @@ public class AiController {
     @PostMapping("/session/new")
     public ResponseEntity<Map<String, String>> createNewSession() {
         String newSessionId = "session_" + System.currentTimeMillis();
-        conversationSessions.put(newSessionId, new ArrayList<>());
+        sessionStore.create(newSessionId);
         return ResponseEntity.ok(Map.of("sessionId", newSessionId));
     }
 
     @DeleteMapping("/session/{sessionId}")
     public ResponseEntity<Map<String, String>> clearSession(@PathVariable String sessionId) {
-        conversationSessions.remove(sessionId);
+        sessionStore.remove(sessionId);
         return ResponseEntity.ok(Map.of("status", "Session cleared"));
     }
 
@@ -261,16 +285,12 @@ public class AiController {
         boolean groqLoaded = groqApiKey != null && !groqApiKey.isBlank();
         boolean tmdbLoaded = tmdbKey != null && !tmdbKey.isBlank();
 
-        System.out.println("🔍 HEALTH CHECK:");
-        System.out.println("   - Groq API Key Loaded: " + groqLoaded);
-        System.out.println("   - TMDB API Key Loaded: " + tmdbLoaded);
-        System.out.println("   - Active Sessions: " + conversationSessions.size());
-
-        return Map.of(
-                "status", "OK",
-                "groqConfigured", groqLoaded ? "YES" : "NO",
-                "tmdbConfigured", tmdbLoaded ? "YES" : "NO",
-                "activeSessions", String.valueOf(conversationSessions.size())
-        );
+        Map<String, String> status = new LinkedHashMap<>();
+        status.put("status", "OK");
+        status.put("groqConfigured", groqLoaded ? "YES" : "NO");
+        status.put("tmdbConfigured", tmdbLoaded ? "YES" : "NO");
+        sessionStore.stats().forEach((k, v) -> status.put(k, String.valueOf(v)));
+        providerRouter.breakerStates().forEach((name, state) -> status.put("breaker." + name, state));
+        return status;
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.cinecooltv.backend.controller;
+
+import com.cinecooltv.backend.service.CatalogSyncService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    public static final String VERSION_HEADER = "X-Catalog-Version";
+
+    @Value("${catalog.cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    private final CatalogSyncService catalogSyncService;
+
+    public CatalogController(CatalogSyncService catalogSyncService) {
+        this.catalogSyncService = catalogSyncService;
+    }
+
+    // --------------------------------------------------------------------
+    // 🗂️ Home-page rows from the in-memory snapshot
+    //   GET /api/catalog/rows/trendingMovies  → { "results": [...] }
+    //   If-None-Match with the row's ETag → 304 (Spring compares it for us)
+    // --------------------------------------------------------------------
+    @GetMapping("/rows/{rowKey}")
+    public CompletableFuture<ResponseEntity<byte[]>> row(@PathVariable String rowKey) {
+        if (!CatalogSyncService.isKnownRow(rowKey)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown catalog row " + rowKey);
+        }
+
+        // Snapshot hit completes immediately; a row it lacks is loaded from TMDB
+        return catalogSyncService.rowAsync(rowKey)
+                .thenApply(row -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(row.etag())
+                        .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                        .header(VERSION_HEADER, String.valueOf(catalogSyncService.snapshot().version()))
+                        .body(row.json()))
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+
+    @GetMapping
+    public Map<String, Object> snapshotInfo() {
+        CatalogSyncService.Snapshot snapshot = catalogSyncService.snapshot();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String key : CatalogSyncService.rowKeys()) {
+            CatalogSyncService.Row row = snapshot.rows().get(key);
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("key", key);
+            info.put("etag", row == null ? null : row.etag());
+            info.put("fetchedAt", row == null ? null : row.fetchedAt());
+            rows.add(info);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", snapshot.version());
+        result.put("syncedAt", snapshot.syncedAt());
+        result.put("rows", rows);
+        return result;
+    }
+}
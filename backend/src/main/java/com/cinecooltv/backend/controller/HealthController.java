@@ -1,5 +1,6 @@
 package com.cinecooltv.backend.controller;
 
+import com.cinecooltv.backend.service.TmdbClient;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -9,12 +10,19 @@ import java.util.Map;
 @RequestMapping("/api")
 public class HealthController {
 
+    private final TmdbClient tmdbClient;
+
+    public HealthController(TmdbClient tmdbClient) {
+        this.tmdbClient = tmdbClient;
+    }
+
     @GetMapping("/health")
     public Map<String, Object> health() {
         Map<String, Object> status = new HashMap<>();
         status.put("status", "UP");
         status.put("message", "CineCoolTV Backend is running");
         status.put("timestamp", System.currentTimeMillis());
+        status.put("tmdbCache", tmdbClient.stats());
         return status;
     }
 }
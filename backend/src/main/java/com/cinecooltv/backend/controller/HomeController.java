@@ -0,0 +1,57 @@
+package com.cinecooltv.backend.controller;
+
+import com.cinecooltv.backend.service.CatalogSyncService;
+import com.cinecooltv.backend.service.HomeFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    @Value("${catalog.cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    private final HomeFeedService homeFeedService;
+    private final CatalogSyncService catalogSyncService;
+
+    public HomeController(HomeFeedService homeFeedService, CatalogSyncService catalogSyncService) {
+        this.homeFeedService = homeFeedService;
+        this.catalogSyncService = catalogSyncService;
+    }
+
+    // --------------------------------------------------------------------
+    // 🏠 Every row of a tab in one (gzip-compressed) response
+    //   GET /api/home?tab=movies|series|anime
+    // --------------------------------------------------------------------
+    @GetMapping
+    public CompletableFuture<ResponseEntity<byte[]>> home(@RequestParam(defaultValue = "movies") String tab) {
+        String key = tab.toLowerCase(Locale.ROOT);
+        List<String> rowKeys = CatalogSyncService.tabRows(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown tab " + tab));
+
+        return homeFeedService.homeFeed(key, rowKeys).thenApply(feed -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(CatalogController.VERSION_HEADER, String.valueOf(catalogSyncService.snapshot().version()));
+
+            if (feed.partial()) {
+                // Missing rows may be there on the next request — don't let anyone cache this
+                response.cacheControl(CacheControl.noStore());
+            } else {
+                response.eTag(feed.etag()).cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic());
+            }
+            return response.body(feed.json());
+        });
+    }
+}
@@ -1,58 +1,175 @@
 package com.cinecooltv.backend.controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.cinecooltv.backend.dto.FavoriteUpdate;
+import com.cinecooltv.backend.dto.MovieFilter;
+import com.cinecooltv.backend.dto.MovieImportStatus;
+import com.cinecooltv.backend.dto.MoviePage;
+import com.cinecooltv.backend.dto.MovieSearchPage;
+import com.cinecooltv.backend.dto.MovieSummary;
+import com.cinecooltv.backend.model.Movie;
+import com.cinecooltv.backend.service.MovieImportService;
+import com.cinecooltv.backend.service.MovieService;
+import com.cinecooltv.backend.service.TmdbClient;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 import org.json.*;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/movies")
 //@CrossOrigin(origins = "${ALLOWED_ORIGINS:http://localhost:3000}")
 public class MovieController {
 
-    @Value("${tmdb.api.key}")
-    private String tmdbApiKey;
+    // Cursor for the next page; the body stays a plain array for existing clients
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    @GetMapping("/search")
-    public List<Map<String, Object>> searchMovies(@RequestParam String query) {
-        List<Map<String, Object>> results = new ArrayList<>();
+    private static final String NDJSON_TYPE = "application/x-ndjson";
 
-        if (query == null || query.trim().isEmpty()) {
-            return Collections.emptyList();
+    private final TmdbClient tmdbClient;
+    private final MovieService movieService;
+    private final MovieImportService movieImportService;
+
+    public MovieController(TmdbClient tmdbClient, MovieService movieService, MovieImportService movieImportService) {
+        this.tmdbClient = tmdbClient;
+        this.movieService = movieService;
+        this.movieImportService = movieImportService;
+    }
+
+    // --------------------------------------------------------------------
+    // 🎞️ Local catalog (keyset pagination on id)
+    //   GET /api/movies?after=<X-Next-Cursor>&limit=50&genre=&releaseYear=&favorite=
+    // --------------------------------------------------------------------
+    @GetMapping
+    public ResponseEntity<List<MovieSummary>> getMovies(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + MovieService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Integer releaseYear,
+            @RequestParam(required = false) Boolean favorite
+    ) {
+        MoviePage page = movieService.getMoviePage(new MovieFilter(genre, releaseYear, favorite), after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
         }
+        return response.body(page.items());
+    }
 
-        try {
-            String encodedQuery = java.net.URLEncoder.encode(query.trim(), "UTF-8");
-            String url = "https://api.themoviedb.org/3/search/multi?api_key=" + tmdbApiKey + "&query=" + encodedQuery;
+    // 🔎 Full-text search over our own catalog (TMDB search is /search below)
+    @GetMapping("/catalog/search")
+    public MovieSearchPage searchCatalog(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + MovieService.DEFAULT_SEARCH_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "0") int offset
+    ) {
+        return movieService.searchMovies(q, limit, offset);
+    }
+
+    @PostMapping
+    public MovieSummary addMovie(@RequestBody Movie movie) {
+        return MovieService.toSummary(movieService.addMovie(movie));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteMovie(@PathVariable Long id) {
+        movieService.deleteMovie(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{id}/favorite")
+    public MovieSummary toggleFavorite(@PathVariable Long id) {
+        return movieService.toggleFavorite(id);
+    }
 
-            RestTemplate restTemplate = new RestTemplate();
-            String response = restTemplate.getForObject(url, String.class);
+    // Bulk: { "ids": [...], "favorite": true } → same shape with the ids that exist
+    @PutMapping("/favorite")
+    public FavoriteUpdate setFavorites(@RequestBody FavoriteUpdate update) {
+        return movieService.setFavorites(update);
+    }
 
-            JSONObject json = new JSONObject(response);
-            JSONArray arr = json.getJSONArray("results");
+    // --------------------------------------------------------------------
+    // 📥 Bulk import (streamed into a Postgres COPY)
+    //   POST /api/movies/import   Content-Type: application/x-ndjson | text/csv
+    //                             optional Content-Encoding: gzip
+    //   GET  /api/movies/import   running + recent imports (progress, rows/s)
+    // --------------------------------------------------------------------
+    @PostMapping(value = "/import", consumes = {NDJSON_TYPE, "text/csv"})
+    public ResponseEntity<MovieImportStatus> importMovies(
+            HttpServletRequest request,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding
+    ) throws IOException {
+        MovieImportService.Format format = MediaType.parseMediaType(contentType).getSubtype().equals("x-ndjson")
+                ? MovieImportService.Format.NDJSON
+                : MovieImportService.Format.CSV;
 
-            for (int i = 0; i < Math.min(10, arr.length()); i++) {
-                JSONObject obj = arr.getJSONObject(i);
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            body = new GZIPInputStream(body, 64 * 1024);
+        }
+
+        MovieImportStatus status = movieImportService.importMovies(body, format);
+        return "COMPLETED".equals(status.status())
+                ? ResponseEntity.ok(status)
+                : ResponseEntity.unprocessableEntity().body(status);
+    }
+
+    @GetMapping("/import")
+    public List<MovieImportStatus> recentImports() {
+        return movieImportService.recent();
+    }
+
+    @GetMapping("/import/{id}")
+    public ResponseEntity<MovieImportStatus> importStatus(@PathVariable String id) {
+        return ResponseEntity.of(movieImportService.status(id));
+    }
+
+    // Async: cache hits complete immediately, misses load on the TMDB lookup pool
+    @GetMapping("/search")
+    public CompletableFuture<List<Map<String, Object>>> searchMovies(@RequestParam String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        return tmdbClient.searchMultiAsync(query)
+                .thenApply(MovieController::toSearchResults)
+                .exceptionally(e -> {
+                    log.warn("⚠️ TMDB search failed: {}", e.getMessage());
+                    return new ArrayList<>();
+                });
+    }
+
+    // Top 10 TMDB search/multi results → cards the frontend renders
+    public static List<Map<String, Object>> toSearchResults(JSONArray arr) {
+        List<Map<String, Object>> results = new ArrayList<>();
 
-                String title = obj.has("title") ? obj.getString("title")
-                        : obj.has("name") ? obj.getString("name") : null;
-                if (title == null || title.isEmpty()) continue;
+        for (int i = 0; i < Math.min(10, arr.length()); i++) {
+            JSONObject obj = arr.getJSONObject(i);
 
-                Map<String, Object> movie = new HashMap<>();
-                movie.put("title", title);
-                movie.put("year", obj.has("release_date") ? obj.getString("release_date") : "Unknown");
-                movie.put("poster", obj.has("poster_path")
-                        ? "https://image.tmdb.org/t/p/w500" + obj.getString("poster_path")
-                        : "https://via.placeholder.com/150");
-                movie.put("type", obj.optString("media_type", "movie"));
-                results.add(movie);
-            }
+            String title = obj.has("title") ? obj.getString("title")
+                    : obj.has("name") ? obj.getString("name") : null;
+            if (title == null || title.isEmpty()) continue;
 
-        } catch (Exception e) {
-            System.err.println("Error searching movies: " + e.getMessage());
+            Map<String, Object> movie = new HashMap<>();
+            movie.put("title", title);
+            movie.put("year", obj.has("release_date") ? obj.getString("release_date") : "Unknown");
+            movie.put("poster", obj.has("poster_path")
+                    ? "https://image.tmdb.org/t/p/w500" + obj.getString("poster_path")
+                    : "https://via.placeholder.com/150");
+            movie.put("type", obj.optString("media_type", "movie"));
+            results.add(movie);
         }
 
         return results;
     }
-}
\ No newline at end of file
+}
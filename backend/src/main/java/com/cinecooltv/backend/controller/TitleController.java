@@ -0,0 +1,52 @@
+package com.cinecooltv.backend.controller;
+
+import com.cinecooltv.backend.service.TitleDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/titles")
+public class TitleController {
+
+    @Value("${titles.cache.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final TitleDetailsService titleDetailsService;
+
+    public TitleController(TitleDetailsService titleDetailsService) {
+        this.titleDetailsService = titleDetailsService;
+    }
+
+    // --------------------------------------------------------------------
+    // 🎬 Everything a details page needs in one request
+    //   GET /api/titles/movie/550   GET /api/titles/tv/1399 (series / anime → tv)
+    // --------------------------------------------------------------------
+    @GetMapping("/{type}/{id}")
+    public CompletableFuture<ResponseEntity<byte[]>> title(@PathVariable String type, @PathVariable long id) {
+        String tmdbType = switch (type.toLowerCase(Locale.ROOT)) {
+            case "movie" -> "movie";
+            case "tv", "series", "anime" -> "tv";
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown title type " + type);
+        };
+        if (id <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid title id");
+        }
+
+        return titleDetailsService.title(tmdbType, id).thenApply(document -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                // A document with parts missing may be complete on the next request
+                .cacheControl(document.partial()
+                        ? CacheControl.noStore()
+                        : CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .body(document.json()));
+    }
+}
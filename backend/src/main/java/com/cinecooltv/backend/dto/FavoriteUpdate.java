@@ -0,0 +1,10 @@
+package com.cinecooltv.backend.dto;
+
+import java.util.List;
+
+/**
+ * Bulk favorite change. As a response, {@code ids} lists the movies that were
+ * actually updated (unknown ids are left out).
+ */
+public record FavoriteUpdate(List<Long> ids, Boolean favorite) {
+}
@@ -0,0 +1,7 @@
+package com.cinecooltv.backend.dto;
+
+/**
+ * Optional catalog filters; null means "any".
+ */
+public record MovieFilter(String genre, Integer releaseYear, Boolean favorite) {
+}
@@ -0,0 +1,23 @@
+package com.cinecooltv.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a bulk import. Rows are streamed into one COPY, so
+ * {@code rowsImported} stays 0 until the import commits; {@code rowsCopied}
+ * is the live counter.
+ */
+public record MovieImportStatus(
+        String id,
+        String status,
+        String format,
+        Instant startedAt,
+        long elapsedMs,
+        long rowsCopied,
+        long rowsRejected,
+        long rowsImported,
+        double rowsPerSecond,
+        List<String> errors
+) {
+}
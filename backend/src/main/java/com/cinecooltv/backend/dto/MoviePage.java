@@ -0,0 +1,9 @@
+package com.cinecooltv.backend.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page; {@code nextCursor} is the id to pass as {@code after}, or null on the last page.
+ */
+public record MoviePage(List<MovieSummary> items, Long nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.cinecooltv.backend.dto;
+
+import java.util.List;
+
+/**
+ * Ranked search results; {@code nextOffset} is null on the last page.
+ */
+public record MovieSearchPage(List<MovieSummary> items, Integer nextOffset) {
+}
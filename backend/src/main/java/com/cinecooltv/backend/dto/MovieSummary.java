@@ -0,0 +1,15 @@
+package com.cinecooltv.backend.dto;
+
+/**
+ * Catalog row as the frontend lists it (selected directly by the query, no entity load).
+ */
+public record MovieSummary(
+        Long id,
+        String title,
+        String genre,
+        String director,
+        int releaseYear,
+        double rating,
+        boolean favorite
+) {
+}
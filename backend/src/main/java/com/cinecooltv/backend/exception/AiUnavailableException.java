@@ -0,0 +1,11 @@
+package com.cinecooltv.backend.exception;
+
+/**
+ * No AI provider could answer: every candidate failed or its circuit breaker is open.
+ */
+public class AiUnavailableException extends RuntimeException {
+
+    public AiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
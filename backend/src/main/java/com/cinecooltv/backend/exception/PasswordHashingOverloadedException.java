@@ -0,0 +1,18 @@
+package com.cinecooltv.backend.exception;
+
+/**
+ * The password-hashing queue is full; the client should retry after {@link #getRetryAfterSeconds()}.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(long retryAfterSeconds) {
+        super("Too many sign-in attempts right now. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
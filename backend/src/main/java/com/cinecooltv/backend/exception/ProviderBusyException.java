@@ -0,0 +1,12 @@
+package com.cinecooltv.backend.exception;
+
+/**
+ * A call was refused locally because the provider's concurrency limit is full.
+ * This is back-pressure on our side and says nothing about the provider's health.
+ */
+public class ProviderBusyException extends RuntimeException {
+
+    public ProviderBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.cinecooltv.backend.exception;
+
+/**
+ * A client went over a rate limit; it may retry after {@link #getRetryAfterSeconds()}.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Too many requests. Please try again in " + retryAfterSeconds + "s.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
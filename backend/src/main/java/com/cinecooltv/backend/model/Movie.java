@@ -3,7 +3,15 @@ package com.cinecooltv.backend.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "movies")
+@Table(
+        name = "movies",
+        indexes = {
+                // Keyset pages per filter: WHERE <filter> AND id > :after ORDER BY id
+                @Index(name = "idx_movies_genre_id", columnList = "genre, id"),
+                @Index(name = "idx_movies_release_year_id", columnList = "releaseYear, id"),
+                @Index(name = "idx_movies_favorite_id", columnList = "favorite, id")
+        }
+)
 public class Movie {
 
     @Id
@@ -4,7 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "otp_verification")
+@Table(
+        name = "otp_verification",
+        indexes = {
+                // Latest OTP per email (findTopByEmailOrderByExpiryDesc) and deleteByEmail
+                @Index(name = "idx_otp_email_expiry", columnList = "email, expiry"),
+                // Expiry cleanup
+                @Index(name = "idx_otp_expiry", columnList = "expiry")
+        }
+)
 public class OtpVerification {
 
     @Id
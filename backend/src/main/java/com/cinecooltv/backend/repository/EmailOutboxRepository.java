@@ -0,0 +1,42 @@
+package com.cinecooltv.backend.repository;
+
+import com.cinecooltv.backend.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Locks the next due batch. SKIP LOCKED lets several instances drain the
+     * outbox without picking the same rows.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.sentAt = :sentAt, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("status") EmailOutbox.Status status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    long countByStatus(EmailOutbox.Status status);
+
+    @Query("SELECT MIN(e.createdAt) FROM EmailOutbox e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") EmailOutbox.Status status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status <> :pending AND e.createdAt < :before")
+    int deleteFinishedBefore(@Param("pending") EmailOutbox.Status pending, @Param("before") LocalDateTime before);
+}
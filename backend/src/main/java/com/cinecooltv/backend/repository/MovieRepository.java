@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
-}
\ No newline at end of file
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
+}
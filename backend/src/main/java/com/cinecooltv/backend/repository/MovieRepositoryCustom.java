@@ -0,0 +1,34 @@
+package com.cinecooltv.backend.repository;
+
+import com.cinecooltv.backend.dto.MovieFilter;
+import com.cinecooltv.backend.dto.MovieSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MovieRepositoryCustom {
+
+    /**
+     * Up to {@code limit} movies with id greater than {@code afterId}, in id order.
+     */
+    List<MovieSummary> findPage(MovieFilter filter, Long afterId, int limit);
+
+    /**
+     * Full-text matches for a prepared tsquery (see {@code MovieService.toPrefixQuery}),
+     * best rank first.
+     */
+    List<MovieSummary> search(String tsQuery, int limit, int offset);
+
+    /**
+     * Flips {@code favorite} in one statement and returns the updated row, or
+     * empty when the movie doesn't exist.
+     */
+    Optional<MovieSummary> toggleFavorite(Long id);
+
+    /**
+     * Sets {@code favorite} on every given id in one statement; returns the ids
+     * that exist.
+     */
+    List<Long> setFavorite(Collection<Long> ids, boolean favorite);
+}
@@ -0,0 +1,113 @@
+package com.cinecooltv.backend.repository;
+
+import com.cinecooltv.backend.dto.MovieFilter;
+import com.cinecooltv.backend.dto.MovieSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keyset pagination: only the predicates that are actually set make it into the
+ * query, so each filter combination gets a plan that can use its (filter, id)
+ * index instead of an OR-IS-NULL catch-all.
+ * <p>
+ * Search is native SQL over the generated {@code search_vector} column, which
+ * JPA doesn't map.
+ */
+class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    // search_vector / GIN index: see MovieSearchSchema
+    private static final String SEARCH_SQL = """
+            SELECT id, title, genre, director, release_year, rating, favorite
+            FROM movies, to_tsquery('simple', ?) query
+            WHERE search_vector @@ query
+            ORDER BY ts_rank(search_vector, query) DESC, id
+            LIMIT ? OFFSET ?
+            """;
+
+    // Single-statement writes: no read-modify-write, so concurrent clicks can't
+    // lose an update
+    private static final String TOGGLE_FAVORITE_SQL = """
+            UPDATE movies SET favorite = NOT favorite
+            WHERE id = ?
+            RETURNING id, title, genre, director, release_year, rating, favorite
+            """;
+
+    // One bind parameter whatever the batch size, so the plan is reused
+    private static final String SET_FAVORITE_SQL = """
+            UPDATE movies SET favorite = ?
+            WHERE id = ANY (?)
+            RETURNING id
+            """;
+
+    private static final RowMapper<MovieSummary> SUMMARY_MAPPER = (rs, rowNum) -> new MovieSummary(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("genre"),
+            rs.getString("director"),
+            rs.getInt("release_year"),
+            rs.getDouble("rating"),
+            rs.getBoolean("favorite")
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MovieRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<MovieSummary> findPage(MovieFilter filter, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                SELECT new com.cinecooltv.backend.dto.MovieSummary(
+                    m.id, m.title, m.genre, m.director, m.releaseYear, m.rating, m.favorite)
+                FROM Movie m
+                WHERE m.id > :afterId""");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("afterId", afterId == null ? 0L : afterId);
+
+        if (filter.genre() != null) {
+            jpql.append(" AND m.genre = :genre");
+            params.put("genre", filter.genre());
+        }
+        if (filter.releaseYear() != null) {
+            jpql.append(" AND m.releaseYear = :releaseYear");
+            params.put("releaseYear", filter.releaseYear());
+        }
+        if (filter.favorite() != null) {
+            jpql.append(" AND m.favorite = :favorite");
+            params.put("favorite", filter.favorite());
+        }
+        jpql.append(" ORDER BY m.id");
+
+        TypedQuery<MovieSummary> query = entityManager.createQuery(jpql.toString(), MovieSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<MovieSummary> search(String tsQuery, int limit, int offset) {
+        return jdbcTemplate.query(SEARCH_SQL, SUMMARY_MAPPER, tsQuery, limit, offset);
+    }
+
+    @Override
+    public Optional<MovieSummary> toggleFavorite(Long id) {
+        return jdbcTemplate.query(TOGGLE_FAVORITE_SQL, SUMMARY_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Long> setFavorite(Collection<Long> ids, boolean favorite) {
+        return jdbcTemplate.queryForList(SET_FAVORITE_SQL, Long.class, favorite, ids.toArray(Long[]::new));
+    }
+}
@@ -2,6 +2,10 @@ package com.cinecooltv.backend.repository;
 
 import com.cinecooltv.backend.model.OtpVerification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -10,7 +14,43 @@ public interface OtpRepository extends JpaRepository<OtpVerification, Long> {
 
     Optional<OtpVerification> findTopByEmailOrderByExpiryDesc(String email);
 
-    void deleteByEmail(String email);
+    // One statement instead of load-then-delete per row
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.email = :email")
+    void deleteByEmail(@Param("email") String email);
 
-    void deleteByExpiryBefore(LocalDateTime time);
+    /**
+     * Deletes up to {@code limit} rows that expired before {@code time}, in its
+     * own short transaction, so cleanup never holds a long lock on the table.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM otp_verification
+            WHERE id IN (
+                SELECT id FROM otp_verification
+                WHERE expiry < :time
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("time") LocalDateTime time, @Param("limit") int limit);
+
+    /**
+     * Atomically counts a failed attempt and returns the new total, or null when
+     * the OTP is gone or already used. Concurrent wrong guesses can't lose updates.
+     */
+    @Query(value = """
+            UPDATE otp_verification
+            SET attempts = attempts + 1
+            WHERE id = :id AND used = false
+            RETURNING attempts
+            """, nativeQuery = true)
+    Integer incrementAttempts(@Param("id") Long id);
+
+    /**
+     * Marks the OTP used; returns 0 if another request already consumed it.
+     */
+    @Modifying
+    @Query("UPDATE OtpVerification o SET o.used = true WHERE o.id = :id AND o.used = false")
+    int markUsed(@Param("id") Long id);
 }
@@ -0,0 +1,95 @@
+package com.cinecooltv.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caches complete AI answers (text plus extracted TMDB cards).
+ * <p>
+ * The key is the normalized question, the model, the temperature and a hash of
+ * the conversation context sent with it, so a follow-up in a different
+ * conversation never gets another conversation's answer.
+ */
+@Component
+public class AiAnswerCache {
+
+    @Value("${ai.answer-cache.max-entries:5000}")
+    private long maxEntries;
+
+    @Value("${ai.answer-cache.ttl-minutes:360}")
+    private long ttlMinutes;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Key, CachedAnswer> cache;
+
+    public AiAnswerCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "ai.answers");
+    }
+
+    public Optional<CachedAnswer> get(Key key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    public void put(Key key, String answer, List<Map<String, Object>> movies) {
+        cache.put(key, new CachedAnswer(answer, List.copyOf(movies)));
+    }
+
+    public static Key key(String question, String model, double temperature, List<String> context) {
+        return new Key(normalize(question), model, temperature, contextHash(context));
+    }
+
+    static String normalize(String question) {
+        return question.trim()
+                .replaceAll("\\s+", " ")
+                .replaceAll("[?!.]+$", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static String contextHash(List<String> context) {
+        if (context.isEmpty()) return "";
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String entry : context) {
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Key(String question, String model, double temperature, String contextHash) {
+    }
+
+    public record CachedAnswer(String answer, List<Map<String, Object>> movies) {
+    }
+}
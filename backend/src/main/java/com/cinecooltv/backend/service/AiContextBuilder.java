@@ -0,0 +1,125 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the chat-completions message list under a prompt-token budget.
+ * <p>
+ * The system prompt is always sent; after it come as many of the most recent
+ * history entries as fit the budget, then the current question. Tokens are
+ * estimated (~4 characters per token plus per-message overhead), which is close
+ * enough for llama-style tokenizers to keep prompts bounded.
+ */
+@Component
+public class AiContextBuilder {
+
+    public static final String SYSTEM_PROMPT = """
+            You are CineCoolAI — an intelligent movie & series analyst.
+
+            Your abilities:
+            • Understand ANY question type (comparison, why, how, what, rankings, reviews, summaries).
+            • Automatically adapt response structure based on question type.
+            • Use conversation memory to continue context — NEVER ask the user to repeat.
+            • Provide deep reasoning, cinematic insights, and clear explanations.
+            • Keep responses clean, compact, and mobile-friendly.
+            • Use small emojis only — avoid BIG headers or oversized text.
+
+            General Style:
+            • Short paragraphs, clean bullet points.
+            • No overuse of bold; clarity is priority.
+            • Use emojis like 🎬 ⭐ 🔍 🥇 🎭 📺 💡
+            • For comparisons → provide detailed head-to-head breakdowns.
+            • For follow-up questions → continue naturally using stored memory.
+            """;
+
+    // Role markers, separators etc. that every message adds on top of its content
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    // Serialized once — the system prompt never changes
+    private static final String SYSTEM_FRAGMENT = message("system", SYSTEM_PROMPT);
+    private static final int SYSTEM_TOKENS = estimateMessageTokens(SYSTEM_PROMPT);
+
+    @Value("${ai.context.max-prompt-tokens:3000}")
+    private int maxPromptTokens;
+
+    private final DistributionSummary promptTokens;
+
+    public AiContextBuilder(MeterRegistry meterRegistry) {
+        this.promptTokens = DistributionSummary.builder("ai.prompt.tokens")
+                .description("Estimated prompt tokens per AI request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param history "User: ..." / "AI: ..." entries, oldest first
+     */
+    public PromptContext build(List<String> history, String question) {
+        int used = SYSTEM_TOKENS + estimateMessageTokens(question);
+
+        // Walk back from the newest entry while it still fits
+        List<String> included = new ArrayList<>();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            int cost = estimateMessageTokens(content(history.get(i)));
+            if (used + cost > maxPromptTokens) break;
+            used += cost;
+            included.add(history.get(i));
+        }
+        Collections.reverse(included);
+
+        StringBuilder messages = new StringBuilder(SYSTEM_FRAGMENT.length() + 256).append('[').append(SYSTEM_FRAGMENT);
+        for (String entry : included) {
+            String role = entry.startsWith("AI:") ? "assistant" : "user";
+            messages.append(',').append(message(role, content(entry)));
+        }
+        messages.append(',').append(message("user", question)).append(']');
+
+        promptTokens.record(used);
+        return new PromptContext(messages.toString(), included, included.size() + 2, used);
+    }
+
+    public static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private static int estimateMessageTokens(String content) {
+        return estimateTokens(content) + MESSAGE_OVERHEAD_TOKENS;
+    }
+
+    private static String content(String entry) {
+        if (entry.startsWith("User: ")) return entry.substring(6);
+        if (entry.startsWith("AI: ")) return entry.substring(4);
+        return entry;
+    }
+
+    private static String message(String role, String content) {
+        return "{\"role\":\"" + role + "\",\"content\":" + JSONObject.quote(content) + "}";
+    }
+
+    /**
+     * @param messagesJson    serialized "messages" array
+     * @param includedHistory history entries that made it into the prompt
+     * @param messageCount    system prompt + history + question
+     * @param promptTokens    estimated prompt tokens
+     */
+    public record PromptContext(String messagesJson, List<String> includedHistory,
+                                int messageCount, int promptTokens) {
+
+        public String toRequestBody(String model, double temperature, int maxTokens, boolean stream) {
+            return "{\"model\":" + JSONObject.quote(model)
+                    + ",\"messages\":" + messagesJson
+                    + ",\"temperature\":" + temperature
+                    + ",\"max_tokens\":" + maxTokens
+                    + (stream ? ",\"stream\":true" : "")
+                    + "}";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.cinecooltv.backend.service;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A chat-completions backend (Groq, local stub, ...).
+ * <p>
+ * Implementations are selected by name through {@code ai.provider} and
+ * {@code ai.provider.fallback}; see {@link AiProviderRouter}.
+ */
+public interface AiProvider {
+
+    String name();
+
+    String model();
+
+    double temperature();
+
+    /**
+     * Completes with the full answer. Implementations must not block the calling
+     * thread while waiting on the network.
+     */
+    CompletableFuture<String> completeAsync(AiContextBuilder.PromptContext context);
+
+    /**
+     * Pushes answer tokens to the sink as they are produced and returns the
+     * complete answer once the provider is done.
+     */
+    String stream(AiContextBuilder.PromptContext context, TokenSink sink);
+
+    @FunctionalInterface
+    interface TokenSink {
+        void accept(String token) throws IOException;
+    }
+}
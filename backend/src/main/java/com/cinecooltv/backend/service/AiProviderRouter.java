@@ -0,0 +1,194 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.exception.AiUnavailableException;
+import com.cinecooltv.backend.exception.ProviderBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Routes AI calls to the configured provider, guarded by a circuit breaker, and
+ * fails over to the secondary provider when the primary fails or is open.
+ * <p>
+ * With every breaker open a call fails in microseconds instead of waiting for
+ * an upstream timeout.
+ */
+@Slf4j
+@Service
+public class AiProviderRouter {
+
+    @Value("${ai.provider:groq}")
+    private String primaryName;
+
+    @Value("${ai.provider.fallback:}")
+    private String fallbackName;
+
+    @Value("${ai.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${ai.breaker.min-calls:5}")
+    private int minCalls;
+
+    @Value("${ai.breaker.failure-rate:0.5}")
+    private double failureRate;
+
+    @Value("${ai.breaker.slow-call-ms:10000}")
+    private long slowCallMs;
+
+    @Value("${ai.breaker.open-ms:30000}")
+    private long openMs;
+
+    private final Map<String, AiProvider> providersByName = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    // Primary first, then the fallback (if any)
+    private List<GuardedProvider> chain;
+
+    public AiProviderRouter(List<AiProvider> providers, MeterRegistry meterRegistry) {
+        providers.forEach(p -> providersByName.put(p.name(), p));
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        List<GuardedProvider> guarded = new ArrayList<>();
+        guarded.add(guard(primaryName));
+        if (fallbackName != null && !fallbackName.isBlank() && !fallbackName.equals(primaryName)) {
+            guarded.add(guard(fallbackName));
+        }
+        chain = List.copyOf(guarded);
+
+        log.info("🤖 AI providers: {}", chain.stream().map(g -> g.provider().name()).toList());
+    }
+
+    public AiProvider primary() {
+        return chain.get(0).provider();
+    }
+
+    public CompletableFuture<AiResult> completeAsync(AiContextBuilder.PromptContext context) {
+        return attempt(context, 0, null);
+    }
+
+    // Tries chain[from..] in order; each failure moves on to the next provider
+    private CompletableFuture<AiResult> attempt(AiContextBuilder.PromptContext context, int from, Throwable lastError) {
+        for (int i = from; i < chain.size(); i++) {
+            GuardedProvider g = chain.get(i);
+            if (!g.breaker().tryAcquire()) continue;
+
+            int next = i + 1;
+            long start = System.nanoTime();
+
+            CompletableFuture<String> call;
+            try {
+                call = g.provider().completeAsync(context);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+
+            return call.handle((answer, error) -> {
+                if (error == null) {
+                    g.breaker().onSuccess(System.nanoTime() - start);
+                    return CompletableFuture.completedFuture(new AiResult(answer, g.provider()));
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                // A full local permit pool is our back-pressure, not a sign the provider is down
+                if (cause instanceof ProviderBusyException) g.breaker().onIgnored();
+                else g.breaker().onFailure();
+                log.warn("⚠️ AI provider '{}' failed: {}", g.provider().name(), cause.getMessage());
+                return attempt(context, next, cause);
+            }).thenCompose(result -> result);
+        }
+
+        return CompletableFuture.failedFuture(new AiUnavailableException("No AI provider available", lastError));
+    }
+
+    /**
+     * Streams from the first available provider. Failover only happens before the
+     * first token has been sent; after that a failure is surfaced to the caller.
+     */
+    public AiResult stream(AiContextBuilder.PromptContext context, AiProvider.TokenSink sink) {
+        RuntimeException lastError = null;
+
+        for (GuardedProvider g : chain) {
+            if (!g.breaker().tryAcquire()) continue;
+
+            TrackingSink tracking = new TrackingSink(sink);
+            long start = System.nanoTime();
+            try {
+                String answer = g.provider().stream(context, tracking);
+                g.breaker().onSuccess(System.nanoTime() - start);
+                return new AiResult(answer, g.provider());
+            } catch (RuntimeException e) {
+                // The client hanging up says nothing about the provider's health
+                if (tracking.clientGone) g.breaker().onIgnored();
+                else g.breaker().onFailure();
+
+                if (tracking.tokensSent > 0 || tracking.clientGone) throw e;
+                lastError = e;
+                log.warn("⚠️ AI provider '{}' stream failed: {}", g.provider().name(), e.getMessage());
+            }
+        }
+
+        throw new AiUnavailableException("No AI provider available", lastError);
+    }
+
+    public Map<String, String> breakerStates() {
+        Map<String, String> states = new LinkedHashMap<>();
+        chain.forEach(g -> states.put(g.provider().name(), g.breaker().getState().name()));
+        return states;
+    }
+
+    private GuardedProvider guard(String name) {
+        AiProvider provider = providersByName.get(name);
+        if (provider == null) {
+            throw new IllegalStateException("Unknown ai.provider '" + name + "', expected one of " + providersByName.keySet());
+        }
+
+        CircuitBreaker breaker = new CircuitBreaker(name, windowSize, minCalls, failureRate, slowCallMs, openMs);
+        Gauge.builder("ai.provider.breaker.state", breaker, b -> b.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("provider", name)
+                .register(meterRegistry);
+        Gauge.builder("ai.provider.breaker.rejected", breaker, CircuitBreaker::getRejectedCount)
+                .tag("provider", name)
+                .register(meterRegistry);
+
+        return new GuardedProvider(provider, breaker);
+    }
+
+    public record AiResult(String answer, AiProvider provider) {
+    }
+
+    private record GuardedProvider(AiProvider provider, CircuitBreaker breaker) {
+    }
+
+    private static final class TrackingSink implements AiProvider.TokenSink {
+        private final AiProvider.TokenSink delegate;
+        int tokensSent;
+        boolean clientGone;
+
+        TrackingSink(AiProvider.TokenSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void accept(String token) throws IOException {
+            try {
+                delegate.accept(token);
+                tokensSent++;
+            } catch (IOException e) {
+                clientGone = true;
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, thread-safe store for AI chat conversation history.
+ * <p>
+ * Sessions live in a {@link ConcurrentHashMap}; each session is guarded by its own
+ * monitor, so concurrent chats never contend on a shared lock. The store caps both
+ * the number of sessions and the total history bytes, and evicts idle sessions
+ * (TTL) and least-recently-used sessions when a cap is exceeded.
+ */
+@Slf4j
+@Component
+public class AiSessionStore {
+
+    @Value("${ai.session.max-sessions:10000}")
+    private int maxSessions;
+
+    @Value("${ai.session.max-total-bytes:67108864}")
+    private long maxTotalBytes;
+
+    @Value("${ai.session.max-messages:40}")
+    private int maxMessages;
+
+    @Value("${ai.session.idle-ttl-minutes:30}")
+    private long idleTtlMinutes;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Only one thread runs an LRU pass at a time; others skip it
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Monotonic time source for access times and the idle TTL; tests replace it
+    LongSupplier nanoTime = System::nanoTime;
+
+    public AiSessionStore(MeterRegistry meterRegistry) {
+        Gauge.builder("ai.sessions.active", sessions, Map::size).register(meterRegistry);
+        Gauge.builder("ai.sessions.bytes", totalBytes, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("ai.sessions.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("ai.sessions.misses", misses, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("ai.sessions.evictions", evictions, AtomicLong::get).register(meterRegistry);
+    }
+
+    // ------------------------------
+    // 🧠 Session access
+    // ------------------------------
+
+    /**
+     * Returns a snapshot of the session history (oldest first), or an empty list
+     * when the session is unknown or has been evicted.
+     */
+    public List<String> history(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            misses.incrementAndGet();
+            return List.of();
+        }
+        hits.incrementAndGet();
+        synchronized (session) {
+            session.touch(nanoTime.getAsLong());
+            return List.copyOf(session.entries);
+        }
+    }
+
+    /**
+     * Appends an entry to the session, creating the session if needed and trimming
+     * it to the configured message count.
+     */
+    public void append(String sessionId, String entry) {
+        long entryBytes = sizeOf(entry);
+
+        while (true) {
+            Session session = sessions.computeIfAbsent(sessionId, id -> new Session(nanoTime.getAsLong()));
+            synchronized (session) {
+                // Lost a race with eviction/removal — retry on a fresh session
+                if (session.removed) continue;
+
+                session.entries.addLast(entry);
+                session.bytes += entryBytes;
+                long delta = entryBytes;
+
+                while (session.entries.size() > maxMessages) {
+                    long dropped = sizeOf(session.entries.removeFirst());
+                    session.bytes -= dropped;
+                    delta -= dropped;
+                }
+
+                session.touch(nanoTime.getAsLong());
+                totalBytes.addAndGet(delta);
+            }
+            break;
+        }
+
+        enforceLimits();
+    }
+
+    public void create(String sessionId) {
+        sessions.computeIfAbsent(sessionId, id -> new Session(nanoTime.getAsLong()));
+        enforceLimits();
+    }
+
+    public boolean remove(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session == null) return false;
+        release(session);
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeSessions", sessions.size());
+        stats.put("totalBytes", totalBytes.get());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    // ------------------------------
+    // 🧹 Eviction
+    // ------------------------------
+
+    /**
+     * Drops sessions that have been idle longer than the configured TTL.
+     */
+    @Scheduled(fixedDelayString = "${ai.session.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = nanoTime.getAsLong() - TimeUnit.MINUTES.toNanos(idleTtlMinutes);
+        int evicted = 0;
+
+        for (Map.Entry<String, Session> e : sessions.entrySet()) {
+            if (e.getValue().lastAccess - cutoff < 0 && sessions.remove(e.getKey(), e.getValue())) {
+                release(e.getValue());
+                evictions.incrementAndGet();
+                evicted++;
+            }
+        }
+
+        if (evicted > 0) {
+            log.debug("🧹 Evicted {} idle AI sessions", evicted);
+        }
+    }
+
+    /**
+     * LRU pass when a cap is exceeded. Evicts down to 90% of each cap so that a
+     * steady stream of new sessions does not trigger a pass on every insert.
+     */
+    private void enforceLimits() {
+        if (!overLimit(maxSessions, maxTotalBytes) || !evictionLock.tryLock()) return;
+
+        try {
+            int sessionTarget = (int) (maxSessions * 0.9);
+            long bytesTarget = (long) (maxTotalBytes * 0.9);
+
+            // Snapshot access times first — sorting on a field other threads keep
+            // updating would break the comparator contract
+            List<LruCandidate> byAge = new ArrayList<>(sessions.size());
+            sessions.forEach((id, session) -> byAge.add(new LruCandidate(id, session, session.lastAccess)));
+            byAge.sort(Comparator.comparingLong(LruCandidate::lastAccess));
+
+            for (LruCandidate candidate : byAge) {
+                if (!overLimit(sessionTarget, bytesTarget)) break;
+                if (sessions.remove(candidate.id(), candidate.session())) {
+                    release(candidate.session());
+                    evictions.incrementAndGet();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean overLimit(int sessionCap, long bytesCap) {
+        return sessions.size() > sessionCap || totalBytes.get() > bytesCap;
+    }
+
+    private void release(Session session) {
+        synchronized (session) {
+            session.removed = true;
+            totalBytes.addAndGet(-session.bytes);
+            session.bytes = 0;
+            session.entries.clear();
+        }
+    }
+
+    // UTF-16 code units, which is what the history costs on the heap
+    private static long sizeOf(String entry) {
+        return 2L * entry.length();
+    }
+
+    private record LruCandidate(String id, Session session, long lastAccess) {
+    }
+
+    private static final class Session {
+        final Deque<String> entries = new ArrayDeque<>();
+        long bytes;
+        boolean removed;
+        volatile long lastAccess;
+
+        Session(long now) {
+            lastAccess = now;
+        }
+
+        void touch(long now) {
+            lastAccess = now;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the home-page TMDB rows (trending, top rated, genres, anime...) in memory.
+ * <p>
+ * A scheduled job fetches every row in parallel and publishes them together as
+ * an immutable, versioned {@link Snapshot}; readers just dereference the current
+ * snapshot, so serving a row is a memory read and TMDB sees one request per row
+ * per interval however many users there are. Each row is stored pre-serialized
+ * with a content hash as its ETag, so unchanged rows keep their ETag across
+ * versions and clients revalidate with a 304. A row whose refresh fails keeps
+ * its previous content; a row the snapshot doesn't have yet is loaded on demand
+ * by {@link #rowAsync(String)}, at most once per backoff period after a failure.
+ */
+@Slf4j
+@Service
+public class CatalogSyncService {
+
+    private static final String TMDB_BASE_URL = "https://api.themoviedb.org/3";
+
+    // rowKey → TMDB path + query (same keys as the frontend's requests.js)
+    private static final Map<String, String> ROWS = rows(
+            // 🎥 Movies
+            "trendingMovies", "/trending/movie/week",
+            "topRatedMovies", "/movie/top_rated",
+            "popularMovies", "/movie/popular",
+            "upcomingMovies", "/movie/upcoming",
+            "nowPlayingMovies", "/movie/now_playing",
+            "actionMovies", "/discover/movie?with_genres=28",
+            "comedyMovies", "/discover/movie?with_genres=35",
+            "romanceMovies", "/discover/movie?with_genres=10749",
+            "horrorMovies", "/discover/movie?with_genres=27",
+            "sciFiMovies", "/discover/movie?with_genres=878",
+            "documentaries", "/discover/movie?with_genres=99",
+
+            // 📺 Series
+            "trendingSeries", "/trending/tv/week",
+            "topRatedSeries", "/tv/top_rated",
+            "popularSeries", "/tv/popular",
+            "airingTodaySeries", "/tv/airing_today",
+            "onTheAirSeries", "/tv/on_the_air",
+            "dramaSeries", "/discover/tv?with_genres=18",
+            "comedySeries", "/discover/tv?with_genres=35",
+            "actionAdventureSeries", "/discover/tv?with_genres=10759",
+            "crimeSeries", "/discover/tv?with_genres=80",
+            "realitySeries", "/discover/tv?with_genres=10764",
+
+            // 🍜 Anime
+            "animeTrending", "/discover/tv?with_original_language=ja&sort_by=popularity.desc",
+            "animeTopRated", "/discover/tv?with_original_language=ja&sort_by=vote_average.desc&vote_count.gte=200",
+            "animeAction", "/discover/tv?with_original_language=ja&with_genres=16,10759",
+            "animeRomance", "/discover/tv?with_original_language=ja&with_genres=16,10749",
+            "animeFantasy", "/discover/tv?with_original_language=ja&with_genres=16,14",
+            "animeComedy", "/discover/tv?with_original_language=ja&with_genres=16,35",
+            "animeMystery", "/discover/tv?with_original_language=ja&with_genres=16,9648"
+    );
+
+    // Rows each home tab shows, in page order (MoviesTab / SeriesTab / AnimeTab)
+    private static final Map<String, List<String>> TABS = Map.of(
+            "movies", List.of("trendingMovies", "topRatedMovies", "popularMovies", "upcomingMovies",
+                    "nowPlayingMovies", "actionMovies", "comedyMovies", "romanceMovies", "horrorMovies", "sciFiMovies"),
+            "series", List.of("trendingSeries", "popularSeries", "topRatedSeries", "airingTodaySeries",
+                    "onTheAirSeries", "dramaSeries", "comedySeries", "actionAdventureSeries", "crimeSeries", "realitySeries"),
+            "anime", List.of("animeTrending", "animeTopRated", "animeAction", "animeRomance",
+                    "animeComedy", "animeMystery")
+    );
+
+    @Value("${tmdb.api.key}")
+    private String tmdbApiKey;
+
+    @Value("${catalog.sync.language:en-US}")
+    private String language;
+
+    @Value("${catalog.row.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+
+    private final RestTemplate restTemplate;
+    private final Executor executor;
+    private final Counter failedRows;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    // On-demand loads of rows the snapshot doesn't have yet
+    private final SingleFlight<String, Row> rowFlight = new SingleFlight<>();
+
+    // rowKey → nanoTime of its last failed fetch; cleared when the row loads
+    private final Map<String, Long> lastFailedAt = new ConcurrentHashMap<>();
+
+    // Monotonic time source for the retry backoff; tests replace it
+    LongSupplier nanoTime = System::nanoTime;
+
+    public CatalogSyncService(
+            RestTemplate restTemplate,
+            @Qualifier("tmdbLookupExecutor") Executor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.failedRows = Counter.builder("catalog.sync.row.failures").register(meterRegistry);
+
+        Gauge.builder("catalog.snapshot.version", current, ref -> ref.get().version()).register(meterRegistry);
+        Gauge.builder("catalog.snapshot.age.seconds", current, ref -> ref.get().ageSeconds()).register(meterRegistry);
+    }
+
+    public static boolean isKnownRow(String rowKey) {
+        return ROWS.containsKey(rowKey);
+    }
+
+    public static Set<String> rowKeys() {
+        return ROWS.keySet();
+    }
+
+    public static Optional<List<String>> tabRows(String tab) {
+        return Optional.ofNullable(TABS.get(tab));
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public Optional<Row> row(String rowKey) {
+        return Optional.ofNullable(current.get().rows().get(rowKey));
+    }
+
+    /**
+     * The row from the snapshot, or — when the snapshot doesn't have it (first
+     * sync still running, or every refresh failed so far) — loaded from TMDB on
+     * the lookup pool and added to the snapshot. Concurrent loads of a row share
+     * one TMDB call, and after a failed load the row fails fast until the backoff
+     * has passed, so a TMDB outage doesn't turn every page view into new calls.
+     */
+    public CompletableFuture<Row> rowAsync(String rowKey) {
+        Row cached = current.get().rows().get(rowKey);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        String path = ROWS.get(rowKey);
+        if (path == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown catalog row " + rowKey));
+        }
+
+        if (inBackoff(rowKey)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Catalog row " + rowKey + " failed recently, not retrying yet"));
+        }
+
+        return CompletableFuture.supplyAsync(() -> rowFlight.execute(rowKey, () -> {
+            Row row;
+            try {
+                row = fetchRow(rowKey, path);
+            } catch (RuntimeException e) {
+                lastFailedAt.put(rowKey, nanoTime.getAsLong());
+                throw e;
+            }
+            publish(Map.of(rowKey, row));
+            return row;
+        }), executor);
+    }
+
+    // ------------------------------
+    // 🔄 Sync
+    // ------------------------------
+
+    @Scheduled(initialDelayString = "${catalog.sync.initial-delay-ms:0}",
+            fixedDelayString = "${catalog.sync.interval-ms:900000}")
+    public void sync() {
+        long start = System.nanoTime();
+        Snapshot previous = current.get();
+
+        List<CompletableFuture<Row>> fetches = new ArrayList<>(ROWS.size());
+        ROWS.forEach((key, path) -> fetches.add(
+                CompletableFuture.supplyAsync(() -> fetchRow(key, path), executor)
+                        .exceptionally(e -> {
+                            failedRows.increment();
+                            lastFailedAt.put(key, nanoTime.getAsLong());
+                            log.warn("⚠️ Catalog row '{}' refresh failed: {}", key, e.getMessage());
+                            return null; // publish() keeps whatever the snapshot has
+                        })
+        ));
+        CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+
+        Map<String, Row> rows = new HashMap<>();
+        int changed = 0;
+        for (CompletableFuture<Row> fetch : fetches) {
+            Row row = fetch.join();
+            if (row == null) continue;
+            rows.put(row.key(), row);
+
+            Row old = previous.rows().get(row.key());
+            if (old == null || !old.etag().equals(row.etag())) changed++;
+        }
+
+        if (rows.isEmpty()) {
+            log.warn("⚠️ Catalog sync got no rows, keeping version {}", current.get().version());
+            return;
+        }
+
+        Snapshot next = publish(rows);
+        log.info("🗂️ Catalog snapshot v{}: {}/{} rows refreshed, {} changed, {} ms",
+                next.version(), rows.size(), ROWS.size(), changed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean inBackoff(String rowKey) {
+        Long failedAt = lastFailedAt.get(rowKey);
+        return failedAt != null
+                && nanoTime.getAsLong() - failedAt < TimeUnit.MILLISECONDS.toNanos(retryBackoffMs);
+    }
+
+    // Copy-on-write: readers always see a complete snapshot, rows are never mutated
+    private Snapshot publish(Map<String, Row> updates) {
+        updates.keySet().forEach(lastFailedAt::remove);
+        return current.updateAndGet(latest -> {
+            Map<String, Row> rows = new LinkedHashMap<>();
+            for (String key : ROWS.keySet()) {
+                Row row = updates.containsKey(key) ? updates.get(key) : latest.rows().get(key);
+                if (row != null) rows.put(key, row);
+            }
+            return new Snapshot(latest.version() + 1, Instant.now(), Collections.unmodifiableMap(rows));
+        });
+    }
+
+    private Row fetchRow(String key, String path) {
+        String url = TMDB_BASE_URL + path
+                + (path.contains("?") ? "&" : "?") + "api_key=" + tmdbApiKey
+                + "&language=" + language;
+
+        String body = restTemplate.getForObject(url, String.class);
+        JSONArray results = new JSONObject(body).optJSONArray("results");
+        if (results == null) {
+            throw new IllegalStateException("TMDB response has no results");
+        }
+
+        // Same shape the frontend reads from TMDB directly: { "results": [...] }
+        byte[] json = new JSONObject().put("results", results).toString().getBytes(StandardCharsets.UTF_8);
+        return new Row(key, json, etag(json), Instant.now());
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Map<String, String> rows(String... keysAndPaths) {
+        Map<String, String> rows = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndPaths.length; i += 2) {
+            rows.put(keysAndPaths[i], keysAndPaths[i + 1]);
+        }
+        return Collections.unmodifiableMap(rows);
+    }
+
+    /**
+     * @param json pre-serialized response body; shared, never modified
+     */
+    public record Row(String key, byte[] json, String etag, Instant fetchedAt) {
+    }
+
+    public record Snapshot(long version, Instant syncedAt, Map<String, Row> rows) {
+
+        static final Snapshot EMPTY = new Snapshot(0, null, Map.of());
+
+        double ageSeconds() {
+            return syncedAt == null ? 0 : (Instant.now().toEpochMilli() - syncedAt.toEpochMilli()) / 1000.0;
+        }
+    }
+}
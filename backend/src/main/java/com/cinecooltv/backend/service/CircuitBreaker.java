@@ -0,0 +1,147 @@
+package com.cinecooltv.backend.service;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * The last {@code windowSize} calls are kept in a ring buffer; a call counts as
+ * bad when it failed or took longer than {@code slowCallMs}. Once at least
+ * {@code minCalls} are recorded and the bad-call rate reaches the threshold the
+ * breaker opens and rejects calls for {@code openMs}. After that a single trial
+ * call is let through (half-open): success closes the breaker, failure reopens it.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+
+    private final boolean[] window;
+    private int index;
+    private int recorded;
+    private int badCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long rejected;
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold,
+                          long slowCallMs, long openMs) {
+        this(name, windowSize, minCalls, failureRateThreshold, slowCallMs, openMs, System::nanoTime);
+    }
+
+    // Tests pass their own clock to step through the open period
+    CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold,
+                   long slowCallMs, long openMs, LongSupplier nanoTime) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallMs * 1_000_000L;
+        this.openNanos = openMs * 1_000_000L;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns false when the call must not be attempted. Every {@code true} must be
+     * followed by exactly one of {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openNanos) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                rejected++;
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(long durationNanos) {
+        boolean slow = durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (slow) open();
+            else close();
+            return;
+        }
+        record(slow);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+    }
+
+    // Call ended without telling us anything about the provider (e.g. client went away)
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) trialInFlight = false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    private void record(boolean bad) {
+        if (recorded == window.length) {
+            if (window[index]) badCalls--;
+        } else {
+            recorded++;
+        }
+        window[index] = bad;
+        if (bad) badCalls++;
+        index = (index + 1) % window.length;
+
+        if (state == State.CLOSED && recorded >= minCalls
+                && (double) badCalls / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+        trialInFlight = false;
+        resetWindow();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        index = 0;
+        recorded = 0;
+        badCalls = 0;
+        Arrays.fill(window, false);
+    }
+}
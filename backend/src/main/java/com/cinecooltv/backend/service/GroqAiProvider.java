@@ -0,0 +1,155 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.config.HttpClientConfig;
+import com.cinecooltv.backend.exception.ProviderBusyException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class GroqAiProvider implements AiProvider {
+
+    private static final String GROQ_URL = "https://api.groq.com/openai/v1/chat/completions";
+
+    @Value("${groq.api.key}")
+    private String groqApiKey;
+
+    @Value("${ai.groq.model:llama-3.1-8b-instant}")
+    private String model;
+
+    @Value("${ai.groq.temperature:0.7}")
+    private double temperature;
+
+    @Value("${ai.groq.max-tokens:1024}")
+    private int maxTokens;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long timeoutMs;
+
+    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final HttpClientConfig.PerHostConcurrencyLimiter hostLimiter;
+
+    public GroqAiProvider(
+            RestTemplate restTemplate,
+            HttpClient outboundHttpClient,
+            HttpClientConfig.PerHostConcurrencyLimiter outboundHostLimiter
+    ) {
+        this.restTemplate = restTemplate;
+        this.httpClient = outboundHttpClient;
+        this.hostLimiter = outboundHostLimiter;
+    }
+
+    @Override
+    public String name() {
+        return "groq";
+    }
+
+    @Override
+    public String model() {
+        return model;
+    }
+
+    @Override
+    public double temperature() {
+        return temperature;
+    }
+
+    // Non-blocking: no thread waits while Groq generates the answer. The call takes
+    // the same per-host permit as RestTemplate calls, but fails at once when none is free;
+    // the router treats that as back-pressure, not as Groq being unhealthy
+    @Override
+    public CompletableFuture<String> completeAsync(AiContextBuilder.PromptContext context) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(GROQ_URL))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + groqApiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        context.toRequestBody(model, temperature, maxTokens, false)))
+                .build();
+
+        String host = request.uri().getHost();
+        if (!hostLimiter.tryAcquire(host)) {
+            return CompletableFuture.failedFuture(new ProviderBusyException("Too many concurrent requests to " + host));
+        }
+
+        CompletableFuture<HttpResponse<String>> call;
+        try {
+            call = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            hostLimiter.release(host);
+            throw e;
+        }
+
+        return call
+                .whenComplete((response, error) -> hostLimiter.release(host))
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("Groq returned HTTP " + response.statusCode());
+                    }
+                    return new JSONObject(response.body())
+                            .getJSONArray("choices")
+                            .getJSONObject(0)
+                            .getJSONObject("message")
+                            .getString("content");
+                });
+    }
+
+    @Override
+    public String stream(AiContextBuilder.PromptContext context, TokenSink sink) {
+        byte[] body = context.toRequestBody(model, temperature, maxTokens, true)
+                .getBytes(StandardCharsets.UTF_8);
+        StringBuilder answer = new StringBuilder();
+
+        restTemplate.execute(GROQ_URL, HttpMethod.POST,
+                req -> {
+                    req.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    req.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    req.getHeaders().set("Authorization", "Bearer " + groqApiKey);
+                    req.getBody().write(body);
+                },
+                res -> {
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(res.getBody(), StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.startsWith("data:")) continue;
+
+                        String data = line.substring(5).trim();
+                        if ("[DONE]".equals(data)) break;
+
+                        String token = extractDelta(data);
+                        if (token.isEmpty()) continue;
+
+                        answer.append(token);
+                        sink.accept(token);
+                    }
+                    return null;
+                });
+
+        return answer.toString();
+    }
+
+    // Pulls choices[0].delta.content out of one streamed chunk
+    private static String extractDelta(String data) {
+        JSONArray choices = new JSONObject(data).optJSONArray("choices");
+        if (choices == null || choices.isEmpty()) return "";
+
+        JSONObject delta = choices.getJSONObject(0).optJSONObject("delta");
+        return delta == null ? "" : delta.optString("content", "");
+    }
+}
@@ -0,0 +1,119 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assembles every row of a home tab into one response.
+ * <p>
+ * Rows come from the catalog snapshot; rows it doesn't have are loaded in
+ * parallel under one shared deadline, and whatever hasn't arrived by then is
+ * listed under {@code missing} instead of holding up the page. Row bodies are
+ * already serialized, so the response is stitched together from bytes:
+ * <pre>
+ * {"tab":"movies","rows":{"trendingMovies":{"results":[...]},...},"missing":[]}
+ * </pre>
+ */
+@Slf4j
+@Service
+public class HomeFeedService {
+
+    @Value("${home.deadline-ms:2500}")
+    private long deadlineMs;
+
+    private final CatalogSyncService catalogSyncService;
+    private final Counter partialFeeds;
+
+    public HomeFeedService(CatalogSyncService catalogSyncService, MeterRegistry meterRegistry) {
+        this.catalogSyncService = catalogSyncService;
+        this.partialFeeds = Counter.builder("home.feed.partial")
+                .description("Home feeds returned with rows missing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param etag null for partial feeds, which must not be cached
+     */
+    public record HomeFeed(byte[] json, String etag, boolean partial) {
+    }
+
+    public CompletableFuture<HomeFeed> homeFeed(String tab, List<String> rowKeys) {
+        List<CompletableFuture<CatalogSyncService.Row>> rows = new ArrayList<>(rowKeys.size());
+        for (String key : rowKeys) {
+            rows.add(catalogSyncService.rowAsync(key)
+                    .exceptionally(e -> {
+                        log.warn("⚠️ Home row '{}' unavailable: {}", key, e.getMessage());
+                        return null;
+                    })
+                    // One deadline for the whole tab: all loads start together
+                    .completeOnTimeout(null, deadlineMs, TimeUnit.MILLISECONDS));
+        }
+
+        return CompletableFuture.allOf(rows.toArray(CompletableFuture[]::new))
+                .thenApply(done -> assemble(tab, rowKeys, rows.stream().map(CompletableFuture::join).toList()));
+    }
+
+    private HomeFeed assemble(String tab, List<String> rowKeys, List<CatalogSyncService.Row> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 16 * 1024);
+        MessageDigest etagDigest = sha256();
+        List<String> missing = new ArrayList<>();
+
+        write(out, "{\"tab\":" + JSONObject.quote(tab) + ",\"rows\":{");
+
+        boolean first = true;
+        for (int i = 0; i < rowKeys.size(); i++) {
+            CatalogSyncService.Row row = rows.get(i);
+            if (row == null) {
+                missing.add(rowKeys.get(i));
+                continue;
+            }
+
+            write(out, (first ? "" : ",") + JSONObject.quote(row.key()) + ":");
+            out.writeBytes(row.json());
+            etagDigest.update(row.etag().getBytes(StandardCharsets.UTF_8));
+            first = false;
+        }
+
+        write(out, "},\"missing\":[");
+        for (int i = 0; i < missing.size(); i++) {
+            write(out, (i == 0 ? "" : ",") + JSONObject.quote(missing.get(i)));
+        }
+        write(out, "]}");
+
+        boolean partial = !missing.isEmpty();
+        if (partial) {
+            partialFeeds.increment();
+            return new HomeFeed(out.toByteArray(), null, true);
+        }
+
+        // Content-derived, so the ETag only changes when one of the rows does
+        String etag = "\"" + HexFormat.of().formatHex(etagDigest.digest(), 0, 16) + "\"";
+        return new HomeFeed(out.toByteArray(), etag, false);
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
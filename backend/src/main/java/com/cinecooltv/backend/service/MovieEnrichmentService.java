@@ -0,0 +1,137 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Turns the quoted titles in an AI answer into TMDB cards.
+ * <p>
+ * Lookups fan out through the async TMDB client (bounded lookup pool) and share one
+ * overall deadline; whatever has finished by then is returned, in the order the
+ * titles appear in the answer.
+ */
+@Slf4j
+@Service
+public class MovieEnrichmentService {
+
+    private static final int MAX_TITLES = 5;
+
+    @Value("${ai.enrichment.deadline-ms:1500}")
+    private long deadlineMs;
+
+    private final TmdbClient tmdbClient;
+
+    private final Timer lookupTimer;
+    private final Counter timeoutCounter;
+    private final Counter errorCounter;
+
+    public MovieEnrichmentService(
+            TmdbClient tmdbClient,
+            MeterRegistry meterRegistry
+    ) {
+        this.tmdbClient = tmdbClient;
+        this.lookupTimer = Timer.builder("ai.enrichment.lookup")
+                .description("Latency of a single TMDB title lookup")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("ai.enrichment.timeouts")
+                .description("Lookups still running when the enrichment deadline passed")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("ai.enrichment.errors")
+                .description("Lookups that failed")
+                .register(meterRegistry);
+    }
+
+    public List<Map<String, Object>> extractMoviesFromText(String text) {
+        return extractMoviesFromTextAsync(text).join();
+    }
+
+    /**
+     * Completes by the deadline at the latest, without blocking the calling thread.
+     */
+    public CompletableFuture<List<Map<String, Object>>> extractMoviesFromTextAsync(String text) {
+        List<String> titles = extractQuotedTitles(text, MAX_TITLES);
+        if (titles.isEmpty()) return CompletableFuture.completedFuture(new ArrayList<>());
+
+        List<CompletableFuture<Map<String, Object>>> lookups = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            lookups.add(submitLookup(title));
+        }
+
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0]))
+                .completeOnTimeout(null, deadlineMs, TimeUnit.MILLISECONDS)
+                .handle((ignored, error) -> collect(lookups));
+    }
+
+    // Keep title order; drop lookups that failed, found nothing or missed the deadline
+    private List<Map<String, Object>> collect(List<CompletableFuture<Map<String, Object>>> lookups) {
+        List<Map<String, Object>> resultsList = new ArrayList<>();
+        for (CompletableFuture<Map<String, Object>> lookup : lookups) {
+            if (!lookup.isDone()) {
+                timeoutCounter.increment();
+                continue;
+            }
+            if (lookup.isCompletedExceptionally()) continue;
+            Map<String, Object> movie = lookup.getNow(null);
+            if (movie != null) resultsList.add(movie);
+        }
+
+        if (resultsList.size() < lookups.size()) {
+            log.debug("⏱️ TMDB enrichment returned {}/{} titles", resultsList.size(), lookups.size());
+        }
+        return resultsList;
+    }
+
+    /**
+     * Titles are the "double-quoted" segments of the answer, de-duplicated, in order.
+     */
+    public static List<String> extractQuotedTitles(String text, int limit) {
+        Set<String> titles = new LinkedHashSet<>();
+        String[] parts = text.split("\"");
+
+        for (int i = 1; i < parts.length && titles.size() < limit; i += 2) {
+            String title = parts[i].trim();
+            if (!title.isEmpty()) titles.add(title);
+        }
+        return new ArrayList<>(titles);
+    }
+
+    private CompletableFuture<Map<String, Object>> submitLookup(String title) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return tmdbClient.searchMultiAsync(title)
+                    .thenApply(arr -> arr.isEmpty() ? null : toCard(arr.getJSONObject(0)))
+                    // A failed search or a malformed result only drops this title
+                    .handle((card, error) -> {
+                        sample.stop(lookupTimer);
+                        if (error != null) {
+                            errorCounter.increment();
+                            log.debug("⚠️ Failed to search for movie: {}: {}", title, error.getMessage());
+                            return null;
+                        }
+                        return card;
+                    });
+        } catch (RejectedExecutionException e) {
+            errorCounter.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    public static Map<String, Object> toCard(JSONObject item) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("title", item.optString("title", item.optString("name", "Unknown")));
+        m.put("rating", item.optDouble("vote_average", 0));
+        m.put("poster", "https://image.tmdb.org/t/p/w500" + item.optString("poster_path", ""));
+        m.put("url", "https://www.themoviedb.org/" + item.optString("media_type", "movie") + "/" + item.getInt("id"));
+        return m;
+    }
+}
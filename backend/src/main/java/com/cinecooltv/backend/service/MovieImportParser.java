@@ -0,0 +1,136 @@
+package com.cinecooltv.backend.service;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns one input line into a {@link Row}. Both formats are line-based, so a
+ * file is parsed as it arrives and only the current line is ever in memory.
+ * <p>
+ * Invalid lines throw {@link IllegalArgumentException}; the importer counts them
+ * as rejected and moves on.
+ */
+interface MovieImportParser {
+
+    Row parse(String line);
+
+    record Row(String title, String genre, String director, int releaseYear, double rating, boolean favorite) {
+
+        public Row {
+            if (title == null || title.isBlank()) {
+                throw new IllegalArgumentException("title is required");
+            }
+            if (!Double.isFinite(rating)) {
+                throw new IllegalArgumentException("rating must be a number");
+            }
+        }
+    }
+
+    // {"title": "...", "genre": "...", "director": "...", "releaseYear": 1999, "rating": 8.7, "favorite": false}
+    static MovieImportParser ndjson() {
+        return line -> {
+            JSONObject o;
+            try {
+                o = new JSONObject(line);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("invalid JSON");
+            }
+            return new Row(
+                    o.optString("title", null),
+                    o.optString("genre", null),
+                    o.optString("director", null),
+                    o.has("releaseYear") ? o.getInt("releaseYear") : o.optInt("release_year", 0),
+                    o.optDouble("rating", 0),
+                    o.optBoolean("favorite", false)
+            );
+        };
+    }
+
+    /**
+     * CSV with a header row naming the columns (any order, {@code title} required).
+     * Quoted fields and {@code ""} escapes are supported; line breaks inside a
+     * field are not.
+     */
+    static MovieImportParser csv(String headerLine) {
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV header row is missing");
+        }
+
+        List<String> header = splitCsv(headerLine);
+        int title = -1, genre = -1, director = -1, year = -1, rating = -1, favorite = -1;
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "")) {
+                case "title" -> title = i;
+                case "genre" -> genre = i;
+                case "director" -> director = i;
+                case "releaseyear", "year" -> year = i;
+                case "rating" -> rating = i;
+                case "favorite" -> favorite = i;
+                default -> { }
+            }
+        }
+        if (title < 0) {
+            throw new IllegalArgumentException("CSV header has no title column");
+        }
+
+        int[] columns = {title, genre, director, year, rating, favorite};
+        return line -> {
+            List<String> fields = splitCsv(line);
+            String yearValue = field(fields, columns[3]);
+            String ratingValue = field(fields, columns[4]);
+            try {
+                return new Row(
+                        field(fields, columns[0]),
+                        field(fields, columns[1]),
+                        field(fields, columns[2]),
+                        yearValue == null ? 0 : Integer.parseInt(yearValue.trim()),
+                        ratingValue == null ? 0 : Double.parseDouble(ratingValue.trim()),
+                        Boolean.parseBoolean(field(fields, columns[5]))
+                );
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("releaseYear/rating must be numbers");
+            }
+        };
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) return null;
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,290 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.dto.MovieImportStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk catalog import over the Postgres COPY protocol.
+ * <p>
+ * The request body is read line by line, each valid row is re-encoded as COPY
+ * CSV into a fixed-size buffer, and the buffer is handed to the server whenever
+ * it fills up. Nothing but the current line and one buffer is held in memory,
+ * so heap use is flat whatever the file size, and the database does one bulk
+ * insert instead of a round-trip per row ({@code Movie} uses IDENTITY, which
+ * rules out Hibernate batching). The COPY is a single transaction: an import
+ * either lands completely or not at all.
+ */
+@Slf4j
+@Service
+public class MovieImportService {
+
+    // id and search_vector are generated by the database
+    private static final String COPY_SQL =
+            "COPY movies (title, genre, director, release_year, rating, favorite) FROM STDIN WITH (FORMAT csv)";
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    public enum Format { NDJSON, CSV }
+
+    @Value("${movie.import.max-concurrent:1}")
+    private int maxConcurrent;
+
+    @Value("${movie.import.max-rejected:1000}")
+    private long maxRejected;
+
+    @Value("${movie.import.copy-buffer-chars:262144}")
+    private int copyBufferChars;
+
+    @Value("${movie.import.history:20}")
+    private int historySize;
+
+    private final DataSource dataSource;
+    private final Counter copiedCounter;
+    private final Counter rejectedCounter;
+    private final Timer importTimer;
+
+    private Semaphore permits;
+
+    // Running and recent imports, oldest first
+    private Map<String, ImportJob> jobs;
+
+    public MovieImportService(DataSource dataSource, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.copiedCounter = Counter.builder("movies.import.rows").tag("result", "copied").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("movies.import.rows").tag("result", "rejected").register(meterRegistry);
+        this.importTimer = Timer.builder("movies.import.duration").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrent);
+        jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > historySize;
+            }
+        });
+    }
+
+    /**
+     * Imports the whole stream on the calling thread and returns the final status.
+     * Progress is visible through {@link #status(String)} / {@link #recent()} meanwhile.
+     */
+    public MovieImportStatus importMovies(InputStream body, Format format) {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Another import is already running");
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.id, job);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8), READ_BUFFER_CHARS)) {
+
+            MovieImportParser parser;
+            long lineNumber = 0;
+            if (format == Format.CSV) {
+                parser = MovieImportParser.csv(reader.readLine());
+                lineNumber++;
+            } else {
+                parser = MovieImportParser.ndjson();
+            }
+
+            long imported = copy(reader, parser, lineNumber, job);
+            job.complete(imported);
+            log.info("📥 Imported {} movies in {} ms ({} rows/s, {} rejected)",
+                    imported, job.elapsedMs(), Math.round(job.rowsPerSecond()), job.rejected);
+        } catch (Exception e) {
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.warn("❌ Movie import {} failed after {} rows: {}", job.id, job.copied, e.getMessage());
+        } finally {
+            importTimer.record(System.nanoTime() - job.startNanos, TimeUnit.NANOSECONDS);
+            permits.release();
+        }
+
+        return job.snapshot();
+    }
+
+    public Optional<MovieImportStatus> status(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ImportJob::snapshot);
+    }
+
+    public List<MovieImportStatus> recent() {
+        List<MovieImportStatus> statuses = new ArrayList<>();
+        synchronized (jobs) {
+            jobs.values().forEach(job -> statuses.add(job.snapshot()));
+        }
+        Collections.reverse(statuses);
+        return statuses;
+    }
+
+    private long copy(BufferedReader reader, MovieImportParser parser, long lineNumber, ImportJob job)
+            throws IOException, SQLException {
+
+        try (Connection connection = dataSource.getConnection()) {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                StringBuilder buffer = new StringBuilder(copyBufferChars + 1024);
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) continue;
+
+                    MovieImportParser.Row row;
+                    try {
+                        row = parser.parse(line);
+                    } catch (RuntimeException e) {
+                        job.reject(lineNumber, String.valueOf(e.getMessage()));
+                        rejectedCounter.increment();
+                        if (job.rejected > maxRejected) {
+                            throw new IllegalArgumentException("More than " + maxRejected + " invalid rows");
+                        }
+                        continue;
+                    }
+
+                    appendCopyRow(buffer, row);
+                    job.copied++;
+                    if (buffer.length() >= copyBufferChars) {
+                        flush(copy, buffer, job);
+                    }
+                }
+
+                flush(copy, buffer, job);
+                long imported = copy.endCopy();
+                if (!connection.getAutoCommit()) connection.commit();
+                return imported;
+            } finally {
+                if (copy.isActive()) {
+                    try {
+                        copy.cancelCopy();
+                    } catch (SQLException e) {
+                        log.debug("COPY cancel failed: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private void flush(CopyIn copy, StringBuilder buffer, ImportJob job) throws SQLException {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+
+        copiedCounter.increment(job.copied - job.flushed);
+        job.flushed = job.copied;
+    }
+
+    // COPY csv: text always quoted, NULL is an empty unquoted field
+    static void appendCopyRow(StringBuilder out, MovieImportParser.Row row) {
+        appendText(out, row.title());
+        out.append(',');
+        appendText(out, row.genre());
+        out.append(',');
+        appendText(out, row.director());
+        out.append(',').append(row.releaseYear())
+                .append(',').append(row.rating())
+                .append(',').append(row.favorite() ? 't' : 'f')
+                .append('\n');
+    }
+
+    private static void appendText(StringBuilder out, String value) {
+        if (value == null) return;
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.append('"');
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Counters are written by the importing thread only and read by status calls.
+     */
+    private static final class ImportJob {
+        final String id;
+        final Format format;
+        final Instant startedAt = Instant.now();
+        final long startNanos = System.nanoTime();
+        final List<String> errors = new CopyOnWriteArrayList<>();
+
+        volatile String status = "RUNNING";
+        volatile long copied;
+        volatile long flushed;
+        volatile long rejected;
+        volatile long imported;
+        volatile long finishedNanos;
+
+        ImportJob(String id, Format format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        void reject(long lineNumber, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + lineNumber + ": " + reason);
+            }
+        }
+
+        void complete(long imported) {
+            this.imported = imported;
+            this.finishedNanos = System.nanoTime();
+            this.status = "COMPLETED";
+        }
+
+        void fail(String reason) {
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(reason);
+            this.finishedNanos = System.nanoTime();
+            this.status = "FAILED";
+        }
+
+        long elapsedMs() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return (end - startNanos) / 1_000_000;
+        }
+
+        double rowsPerSecond() {
+            long ms = elapsedMs();
+            return ms == 0 ? 0 : copied * 1000.0 / ms;
+        }
+
+        MovieImportStatus snapshot() {
+            return new MovieImportStatus(id, status, format.name(), startedAt, elapsedMs(),
+                    copied, rejected, imported, rowsPerSecond(), List.copyOf(errors));
+        }
+    }
+}
@@ -1,22 +1,95 @@
 package com.cinecooltv.backend.service;
 
+import com.cinecooltv.backend.dto.FavoriteUpdate;
+import com.cinecooltv.backend.dto.MovieFilter;
+import com.cinecooltv.backend.dto.MoviePage;
+import com.cinecooltv.backend.dto.MovieSearchPage;
+import com.cinecooltv.backend.dto.MovieSummary;
 import com.cinecooltv.backend.model.Movie;
 import com.cinecooltv.backend.repository.MovieRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @Service
 public class MovieService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    // Ranked results are offset-paged; nobody reads past a few pages of matches
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERMS = 8;
+
+    private static final int MAX_FAVORITE_BATCH = 500;
+
     private final MovieRepository movieRepository;
 
     public MovieService(MovieRepository movieRepository) {
         this.movieRepository = movieRepository;
     }
 
+    /**
+     * Loads the whole table — prefer {@link #getMoviePage} for anything user-facing.
+     */
     public List<Movie> getAllMovies() {
         return movieRepository.findAll();
     }
 
+    // 📄 Keyset page: cost depends on the page size, not on how deep the cursor is
+    public MoviePage getMoviePage(MovieFilter filter, Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // One extra row tells us whether there is a next page
+        List<MovieSummary> rows = movieRepository.findPage(filter, afterId, size + 1);
+        if (rows.size() <= size) {
+            return new MoviePage(rows, null);
+        }
+
+        List<MovieSummary> items = rows.subList(0, size);
+        return new MoviePage(List.copyOf(items), items.get(size - 1).id());
+    }
+
+    // 🔎 Ranked full-text search over title, director and genre (prefix matching)
+    public MovieSearchPage searchMovies(String text, int limit, int offset) {
+        String tsQuery = toPrefixQuery(text);
+        if (tsQuery == null) return new MovieSearchPage(List.of(), null);
+
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        int from = Math.max(0, Math.min(offset, MAX_SEARCH_OFFSET));
+
+        List<MovieSummary> rows = movieRepository.search(tsQuery, size + 1, from);
+        if (rows.size() <= size) {
+            return new MovieSearchPage(rows, null);
+        }
+        return new MovieSearchPage(List.copyOf(rows.subList(0, size)), from + size);
+    }
+
+    /**
+     * "dark kni" → "dark:* & kni:*". Only letters and digits survive, so user
+     * input can never form tsquery syntax; very short terms are dropped because a
+     * one-letter prefix matches most of the catalog.
+     */
+    static String toPrefixQuery(String text) {
+        if (text == null) return null;
+
+        List<String> terms = new ArrayList<>();
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (raw.length() >= MIN_TERM_LENGTH && terms.size() < MAX_TERMS) {
+                terms.add(raw + ":*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
     public Movie addMovie(Movie movie) {
         return movieRepository.save(movie);
     }
@@ -25,13 +98,31 @@ public class MovieService {
         movieRepository.deleteById(id);
     }
 
-    // ⭐ NEW METHOD — toggles the "favorite" field
-    public Movie toggleFavorite(Long id) {
-        return movieRepository.findById(id)
-                .map(movie -> {
-                    movie.setFavorite(!movie.isFavorite());
-                    return movieRepository.save(movie);
-                })
-                .orElseThrow(() -> new RuntimeException("Movie not found with id " + id));
+    // ⭐ Toggles the "favorite" field atomically (single UPDATE ... RETURNING)
+    public MovieSummary toggleFavorite(Long id) {
+        return movieRepository.toggleFavorite(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Movie not found with id " + id));
+    }
+
+    // ⭐ Sets the same favorite state on many movies in one statement
+    public FavoriteUpdate setFavorites(FavoriteUpdate update) {
+        if (update == null || update.ids() == null || update.ids().isEmpty() || update.favorite() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids and favorite are required");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(update.ids());
+        ids.remove(null);
+        if (ids.size() > MAX_FAVORITE_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_FAVORITE_BATCH + " ids per request");
+        }
+        if (ids.isEmpty()) return new FavoriteUpdate(List.of(), update.favorite());
+
+        return new FavoriteUpdate(movieRepository.setFavorite(ids, update.favorite()), update.favorite());
+    }
+
+    public static MovieSummary toSummary(Movie movie) {
+        return new MovieSummary(movie.getId(), movie.getTitle(), movie.getGenre(), movie.getDirector(),
+                movie.getReleaseYear(), movie.getRating(), movie.isFavorite());
     }
-}
\ No newline at end of file
+}
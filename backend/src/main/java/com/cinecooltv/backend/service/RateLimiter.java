@@ -0,0 +1,162 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets for the auth, OTP and AI endpoints.
+ * <p>
+ * Limits are configured per path prefix and scope (client IP, email, signed-in
+ * principal). Buckets live in a size-bounded Caffeine map and are dropped once
+ * a key has been idle for longer than its longest period, so memory stays
+ * bounded no matter how many distinct clients show up. A check is a map lookup
+ * plus a CAS: no locks, no database.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Scope { IP, EMAIL, PRINCIPAL }
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    // prefix:capacity/period pairs, e.g. /api/auth/login:20/1m,/api/ai/ask:60/1m
+    @Value("${rate-limit.ip-rules:}")
+    private String ipRules;
+
+    @Value("${rate-limit.email-rules:}")
+    private String emailRules;
+
+    @Value("${rate-limit.principal-rules:}")
+    private String principalRules;
+
+    private final MeterRegistry meterRegistry;
+
+    private Map<Scope, List<Rule>> rules;
+    private Map<Scope, Counter> rejected;
+    private Cache<String, TokenBucket> buckets;
+
+    // Monotonic time source for the buckets; tests replace it
+    LongSupplier nanoTime = System::nanoTime;
+
+    public RateLimiter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        rules = Map.of(
+                Scope.IP, parseRules(ipRules),
+                Scope.EMAIL, parseRules(emailRules),
+                Scope.PRINCIPAL, parseRules(principalRules)
+        );
+
+        Duration longestPeriod = rules.values().stream()
+                .flatMap(List::stream)
+                .map(rule -> Duration.ofNanos(rule.periodNanos()))
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ofMinutes(1));
+
+        // Idle for a full period means the bucket is full again — safe to forget
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(longestPeriod)
+                .build();
+
+        rejected = Map.of(
+                Scope.IP, rejectedCounter(Scope.IP),
+                Scope.EMAIL, rejectedCounter(Scope.EMAIL),
+                Scope.PRINCIPAL, rejectedCounter(Scope.PRINCIPAL)
+        );
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * @return 0 when allowed (or no rule covers the path), otherwise seconds to wait
+     */
+    public long tryAcquire(Scope scope, String path, String key) {
+        if (!enabled || key == null || key.isEmpty()) return 0;
+
+        Rule rule = match(scope, path);
+        if (rule == null) return 0;
+
+        long now = nanoTime.getAsLong();
+        TokenBucket bucket = buckets.get(scope + "|" + rule.prefix() + "|" + key,
+                k -> new TokenBucket(rule.capacity(), rule.periodNanos(), now));
+
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) return 0;
+
+        rejected.get(scope).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /**
+     * Same as {@link #tryAcquire} but throws {@link RateLimitExceededException} (→ 429).
+     */
+    public void check(Scope scope, String path, String key) {
+        long retryAfter = tryAcquire(scope, path, key == null ? null : key.trim().toLowerCase(Locale.ROOT));
+        if (retryAfter > 0) {
+            throw new RateLimitExceededException(retryAfter);
+        }
+    }
+
+    public boolean covers(Scope scope, String path) {
+        return enabled && match(scope, path) != null;
+    }
+
+    private Rule match(Scope scope, String path) {
+        for (Rule rule : rules.get(scope)) {
+            if (path.startsWith(rule.prefix())) return rule;
+        }
+        return null;
+    }
+
+    private Counter rejectedCounter(Scope scope) {
+        return Counter.builder("ratelimit.rejected")
+                .tag("scope", scope.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    // Longest prefix first, so /api/ai/ask/stream can override /api/ai/ask
+    static List<Rule> parseRules(String spec) {
+        List<Rule> parsed = new ArrayList<>();
+        if (spec == null || spec.isBlank()) return parsed;
+
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) continue;
+
+            String[] limit = parts[1].trim().split("/");
+            int capacity = Integer.parseInt(limit[0].trim());
+            Duration period = DurationStyle.detectAndParse(limit[1].trim());
+            parsed.add(new Rule(parts[0].trim(), capacity, period.toNanos()));
+        }
+
+        parsed.sort(Comparator.comparingInt((Rule r) -> r.prefix().length()).reversed());
+        return List.copyOf(parsed);
+    }
+
+    record Rule(String prefix, int capacity, long periodNanos) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.cinecooltv.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local, deterministic provider for load tests and offline development.
+ * <p>
+ * The same prompt always produces the same answer, with quoted titles so the
+ * TMDB enrichment path is exercised too. No network access is needed.
+ */
+@Component
+public class StubAiProvider implements AiProvider {
+
+    private static final List<String> TITLES = List.of(
+            "Inception", "Interstellar", "Parasite", "The Dark Knight", "Spirited Away",
+            "Breaking Bad", "Dune", "Whiplash", "Arcane", "The Shawshank Redemption"
+    );
+
+    @Value("${ai.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public String model() {
+        return "stub-1";
+    }
+
+    @Override
+    public double temperature() {
+        return 0;
+    }
+
+    @Override
+    public CompletableFuture<String> completeAsync(AiContextBuilder.PromptContext context) {
+        if (latencyMs <= 0) return CompletableFuture.completedFuture(answerFor(context));
+
+        // Delayed completion, so simulated latency does not hold a thread either
+        return CompletableFuture.supplyAsync(() -> answerFor(context),
+                CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public String stream(AiContextBuilder.PromptContext context, TokenSink sink) {
+        simulateLatency();
+        String answer = answerFor(context);
+
+        try {
+            for (String word : answer.split("(?<= )")) {
+                sink.accept(word);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return answer;
+    }
+
+    private String answerFor(AiContextBuilder.PromptContext context) {
+        int seed = Math.floorMod(context.messagesJson().hashCode(), TITLES.size());
+        String first = TITLES.get(seed);
+        String second = TITLES.get((seed + 3) % TITLES.size());
+
+        return "🎬 Here are two picks for you:\n" +
+                "• \"" + first + "\" ⭐ a modern classic worth revisiting.\n" +
+                "• \"" + second + "\" 🎭 great if you liked the first one.\n" +
+                "💡 (stub provider — " + context.promptTokens() + " prompt tokens)";
+    }
+
+    private void simulateLatency() {
+        if (latencyMs <= 0) return;
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.cinecooltv.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One document per title for the details pages: details, credits, videos,
+ * recommendations and the US age rating, fetched from TMDB in parallel.
+ * <p>
+ * Each part is cached on its own with its own TTL — details (which carry the
+ * vote average) go stale much sooner than credits — and is trimmed to the fields
+ * the pages read before it is cached. The merged JSON is memoized against the
+ * exact part instances it was built from, so a warm request is five cache hits
+ * and a reference comparison. Field names stay TMDB's, so the pages read the
+ * document the way they read TMDB's {@code append_to_response} output.
+ */
+@Slf4j
+@Service
+public class TitleDetailsService {
+
+    private static final String TMDB_BASE_URL = "https://api.themoviedb.org/3";
+
+    private static final Set<String> DETAIL_FIELDS = Set.of(
+            "id", "title", "name", "original_title", "original_name", "original_language", "overview", "tagline",
+            "poster_path", "backdrop_path", "genres", "runtime", "episode_run_time", "release_date",
+            "first_air_date", "last_air_date", "status", "type", "vote_average", "vote_count", "popularity",
+            "imdb_id", "budget", "revenue", "origin_country", "number_of_seasons", "number_of_episodes");
+    private static final Set<String> COMPANY_FIELDS = Set.of("id", "name", "logo_path");
+    private static final Set<String> COUNTRY_FIELDS = Set.of("iso_3166_1", "name");
+    private static final Set<String> PERSON_FIELDS = Set.of("id", "name");
+    private static final Set<String> SEASON_FIELDS = Set.of(
+            "season_number", "name", "episode_count", "poster_path", "air_date", "overview");
+    private static final Set<String> CAST_FIELDS = Set.of("id", "name", "character", "profile_path", "order");
+    private static final Set<String> CREW_FIELDS = Set.of("id", "name", "job", "department", "profile_path");
+    private static final Set<String> CREW_JOBS = Set.of("Director", "Writer", "Screenplay", "Creator");
+    private static final Set<String> VIDEO_FIELDS = Set.of("key", "name", "site", "type", "official", "published_at");
+    private static final Set<String> CARD_FIELDS = Set.of(
+            "id", "title", "name", "overview", "poster_path", "backdrop_path", "vote_average", "media_type",
+            "release_date", "first_air_date", "original_language", "genre_ids");
+
+    private static final int MAX_CAST = 20;
+    private static final int MAX_RECOMMENDATIONS = 20;
+
+    enum Part {
+        DETAILS, CREDITS, VIDEOS, RECOMMENDATIONS, AGE_RATING
+    }
+
+    @Value("${tmdb.api.key}")
+    private String tmdbApiKey;
+
+    @Value("${titles.cache.max-entries:20000}")
+    private long maxEntries;
+
+    // Details carry vote_average / popularity, so they are the shortest-lived part
+    @Value("${titles.ttl.details-minutes:60}")
+    private long detailsTtlMinutes;
+
+    @Value("${titles.ttl.credits-minutes:1440}")
+    private long creditsTtlMinutes;
+
+    @Value("${titles.ttl.videos-minutes:360}")
+    private long videosTtlMinutes;
+
+    @Value("${titles.ttl.recommendations-minutes:360}")
+    private long recommendationsTtlMinutes;
+
+    @Value("${titles.ttl.age-rating-minutes:1440}")
+    private long ageRatingTtlMinutes;
+
+    // Optional parts that take longer are left out of the document
+    @Value("${titles.deadline-ms:2000}")
+    private long deadlineMs;
+
+    private final RestTemplate restTemplate;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Part, Duration> ttls = new EnumMap<>(Part.class);
+
+    private AsyncLoadingCache<PartKey, JSONObject> parts;
+    private Cache<TitleKey, TitleDocument> documents;
+
+    public TitleDetailsService(
+            RestTemplate restTemplate,
+            @Qualifier("tmdbLookupExecutor") Executor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        ttls.put(Part.DETAILS, Duration.ofMinutes(detailsTtlMinutes));
+        ttls.put(Part.CREDITS, Duration.ofMinutes(creditsTtlMinutes));
+        ttls.put(Part.VIDEOS, Duration.ofMinutes(videosTtlMinutes));
+        ttls.put(Part.RECOMMENDATIONS, Duration.ofMinutes(recommendationsTtlMinutes));
+        ttls.put(Part.AGE_RATING, Duration.ofMinutes(ageRatingTtlMinutes));
+
+        // Concurrent misses for the same part share one load (Caffeine coalesces them)
+        parts = Caffeine.newBuilder()
+                .maximumSize(maxEntries * Part.values().length)
+                .expireAfter(new PartExpiry())
+                .executor(executor)
+                .recordStats()
+                .buildAsync(this::fetchPart);
+
+        // Documents never outlive their shortest part, and are rebuilt when a part changes
+        documents = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttls.get(Part.DETAILS))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, parts, "titles.parts");
+    }
+
+    /**
+     * @param type "movie" or "tv"
+     */
+    public CompletableFuture<TitleDocument> title(String type, long id) {
+        TitleKey title = new TitleKey(type, id);
+
+        List<CompletableFuture<JSONObject>> loads = new ArrayList<>();
+        for (Part part : Part.values()) {
+            CompletableFuture<JSONObject> load = parts.get(new PartKey(title, part));
+            if (part != Part.DETAILS) {
+                load = load
+                        .exceptionally(e -> {
+                            log.warn("⚠️ {} {} {} unavailable: {}", type, id, part, e.getMessage());
+                            return null;
+                        })
+                        .completeOnTimeout(null, deadlineMs, TimeUnit.MILLISECONDS);
+            }
+            loads.add(load);
+        }
+
+        return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new))
+                .handle((done, error) -> {
+                    if (error != null) throw notFoundOrUnavailable(error);
+
+                    JSONObject[] loaded = loads.stream().map(CompletableFuture::join).toArray(JSONObject[]::new);
+                    TitleDocument cached = documents.getIfPresent(title);
+                    if (cached != null && cached.isBuiltFrom(loaded)) return cached;
+
+                    TitleDocument document = merge(title, loaded);
+                    if (!document.partial()) documents.put(title, document);
+                    return document;
+                });
+    }
+
+    // ------------------------------
+    // 🧩 Merge
+    // ------------------------------
+
+    private static TitleDocument merge(TitleKey title, JSONObject[] loaded) {
+        JSONObject document = new JSONObject();
+        JSONObject details = loaded[Part.DETAILS.ordinal()];
+        details.keySet().forEach(key -> document.put(key, details.get(key)));
+        document.put("media_type", title.type());
+
+        boolean partial = false;
+        for (Part part : Part.values()) {
+            if (part == Part.DETAILS) continue;
+            JSONObject value = loaded[part.ordinal()];
+            if (value == null) {
+                partial = true;
+                continue;
+            }
+            switch (part) {
+                case CREDITS -> document.put("credits", value);
+                case VIDEOS -> document.put("videos", value);
+                case RECOMMENDATIONS -> document.put("recommendations", value);
+                case AGE_RATING -> document.put("age_rating", value.opt("rating"));
+                default -> { }
+            }
+        }
+
+        return new TitleDocument(document.toString().getBytes(StandardCharsets.UTF_8), loaded.clone(), partial);
+    }
+
+    private static RuntimeException notFoundOrUnavailable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpClientErrorException.NotFound) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Title not found");
+        }
+        log.warn("❌ Title details failed: {}", cause.getMessage());
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "TMDB is unavailable, try again shortly");
+    }
+
+    // ------------------------------
+    // 🎬 TMDB parts (trimmed before caching)
+    // ------------------------------
+
+    private JSONObject fetchPart(PartKey key) {
+        TitleKey title = key.title();
+        String base = TMDB_BASE_URL + "/" + title.type() + "/" + title.id();
+
+        return switch (key.part()) {
+            case DETAILS -> compactDetails(get(base));
+            case CREDITS -> compactCredits(get(base + "/credits"));
+            case VIDEOS -> compactVideos(get(base + "/videos"));
+            case RECOMMENDATIONS -> compactRecommendations(get(base + "/recommendations"));
+            case AGE_RATING -> "movie".equals(title.type())
+                    ? movieAgeRating(get(base + "/release_dates"))
+                    : tvAgeRating(get(base + "/content_ratings"));
+        };
+    }
+
+    private JSONObject get(String url) {
+        String body = restTemplate.getForObject(url + "?api_key=" + tmdbApiKey + "&language=en-US", String.class);
+        return new JSONObject(body);
+    }
+
+    private static JSONObject compactDetails(JSONObject tmdb) {
+        JSONObject details = pick(tmdb, DETAIL_FIELDS);
+        putPicked(details, tmdb, "production_companies", COMPANY_FIELDS, Integer.MAX_VALUE);
+        putPicked(details, tmdb, "production_countries", COUNTRY_FIELDS, Integer.MAX_VALUE);
+        putPicked(details, tmdb, "networks", COMPANY_FIELDS, Integer.MAX_VALUE);
+        putPicked(details, tmdb, "created_by", PERSON_FIELDS, Integer.MAX_VALUE);
+        putPicked(details, tmdb, "seasons", SEASON_FIELDS, Integer.MAX_VALUE);
+        return details;
+    }
+
+    private static JSONObject compactCredits(JSONObject tmdb) {
+        JSONObject credits = new JSONObject();
+        putPicked(credits, tmdb, "cast", CAST_FIELDS, MAX_CAST);
+
+        JSONArray crew = new JSONArray();
+        JSONArray all = tmdb.optJSONArray("crew");
+        for (int i = 0; all != null && i < all.length(); i++) {
+            JSONObject member = all.optJSONObject(i);
+            if (member != null && CREW_JOBS.contains(member.optString("job"))) {
+                crew.put(pick(member, CREW_FIELDS));
+            }
+        }
+        return credits.put("crew", crew);
+    }
+
+    private static JSONObject compactVideos(JSONObject tmdb) {
+        JSONArray results = new JSONArray();
+        JSONArray all = tmdb.optJSONArray("results");
+        for (int i = 0; all != null && i < all.length(); i++) {
+            JSONObject video = all.optJSONObject(i);
+            if (video != null && "YouTube".equals(video.optString("site"))) {
+                results.put(pick(video, VIDEO_FIELDS));
+            }
+        }
+        return new JSONObject().put("results", results);
+    }
+
+    private static JSONObject compactRecommendations(JSONObject tmdb) {
+        JSONObject recommendations = new JSONObject();
+        putPicked(recommendations, tmdb, "results", CARD_FIELDS, MAX_RECOMMENDATIONS);
+        return recommendations;
+    }
+
+    // US certification of the first US release that has one
+    private static JSONObject movieAgeRating(JSONObject tmdb) {
+        JSONObject us = usEntry(tmdb);
+        JSONArray dates = us == null ? null : us.optJSONArray("release_dates");
+        for (int i = 0; dates != null && i < dates.length(); i++) {
+            String certification = dates.getJSONObject(i).optString("certification");
+            if (!certification.isBlank()) return new JSONObject().put("rating", certification);
+        }
+        return new JSONObject();
+    }
+
+    private static JSONObject tvAgeRating(JSONObject tmdb) {
+        JSONObject us = usEntry(tmdb);
+        String rating = us == null ? "" : us.optString("rating");
+        return rating.isBlank() ? new JSONObject() : new JSONObject().put("rating", rating);
+    }
+
+    private static JSONObject usEntry(JSONObject tmdb) {
+        JSONArray results = tmdb.optJSONArray("results");
+        for (int i = 0; results != null && i < results.length(); i++) {
+            JSONObject entry = results.optJSONObject(i);
+            if (entry != null && "US".equals(entry.optString("iso_3166_1"))) return entry;
+        }
+        return null;
+    }
+
+    private static JSONObject pick(JSONObject source, Set<String> fields) {
+        JSONObject picked = new JSONObject();
+        for (String field : fields) {
+            Object value = source.opt(field);
+            if (value != null && value != JSONObject.NULL) picked.put(field, value);
+        }
+        return picked;
+    }
+
+    private static void putPicked(JSONObject target, JSONObject source, String key, Set<String> fields, int limit) {
+        JSONArray all = source.optJSONArray(key);
+        if (all == null) return;
+
+        JSONArray picked = new JSONArray();
+        for (int i = 0; i < all.length() && picked.length() < limit; i++) {
+            JSONObject item = all.optJSONObject(i);
+            if (item != null) picked.put(pick(item, fields));
+        }
+        target.put(key, picked);
+    }
+
+    record TitleKey(String type, long id) {
+    }
+
+    record PartKey(TitleKey title, Part part) {
+    }
+
+    /**
+     * @param json      serialized document; shared, never modified
+     * @param builtFrom the cached part instances it was merged from
+     */
+    public record TitleDocument(byte[] json, JSONObject[] builtFrom, boolean partial) {
+
+        boolean isBuiltFrom(JSONObject[] parts) {
+            if (parts.length != builtFrom.length) return false;
+            for (int i = 0; i < parts.length; i++) {
+                if (parts[i] != builtFrom[i]) return false;
+            }
+            return true;
+        }
+    }
+
+    private class PartExpiry implements Expiry<PartKey, JSONObject> {
+        @Override
+        public long expireAfterCreate(PartKey key, JSONObject value, long currentTime) {
+            return ttls.get(key.part()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(PartKey key, JSONObject value, long currentTime, long currentDuration) {
+            return ttls.get(key.part()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(PartKey key, JSONObject value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
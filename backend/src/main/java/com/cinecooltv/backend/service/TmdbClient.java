@@ -0,0 +1,191 @@
+package com.cinecooltv.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Shared entry point for TMDB search calls, backed by an in-process cache.
+ * <p>
+ * Entries are keyed by media type and normalized query and bounded by their
+ * estimated size in bytes. After {@code fresh-ttl} an entry is still served
+ * while it is reloaded in the background; if the reload fails the stale entry
+ * keeps being served until {@code stale-ttl}. Empty results are cached as
+ * negatives with their own, shorter TTL.
+ * <p>
+ * The async cache hands concurrent misses for a key the same in-flight future
+ * and runs at most one refresh per key, so they share one TMDB request and its outcome.
+ * Loads run on the TMDB lookup pool, so async callers never block their own thread.
+ */
+@Slf4j
+@Service
+public class TmdbClient {
+
+    private static final String TMDB_BASE_URL = "https://api.themoviedb.org/3";
+
+    @Value("${tmdb.api.key}")
+    private String tmdbApiKey;
+
+    @Value("${tmdb.cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${tmdb.cache.fresh-ttl-minutes:30}")
+    private long freshTtlMinutes;
+
+    @Value("${tmdb.cache.stale-ttl-hours:24}")
+    private long staleTtlHours;
+
+    @Value("${tmdb.cache.negative-ttl-minutes:5}")
+    private long negativeTtlMinutes;
+
+    private final RestTemplate restTemplate;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private AsyncLoadingCache<SearchKey, SearchResult> searchCache;
+
+    public TmdbClient(
+            RestTemplate restTemplate,
+            @Qualifier("tmdbLookupExecutor") Executor refreshExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        searchCache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((SearchKey key, SearchResult value) -> value.weight())
+                .expireAfter(new SearchExpiry())
+                .refreshAfterWrite(Duration.ofMinutes(freshTtlMinutes))
+                .executor(refreshExecutor)
+                .recordStats()
+                .buildAsync(this::fetchSearch);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, searchCache, "tmdb.search");
+        Gauge.builder("tmdb.search.cache.bytes", this, TmdbClient::cachedBytes)
+                .register(meterRegistry);
+    }
+
+    // ------------------------------
+    // 🔍 Search
+    // ------------------------------
+
+    /**
+     * Results of {@code /search/{mediaType}} ("multi", "movie" or "tv"). The
+     * returned array is shared with the cache and must be treated as read-only.
+     */
+    public JSONArray search(String mediaType, String query) {
+        return searchAsync(mediaType, query).join();
+    }
+
+    public CompletableFuture<JSONArray> searchAsync(String mediaType, String query) {
+        return searchCache.get(new SearchKey(mediaType, normalize(query))).thenApply(SearchResult::results);
+    }
+
+    public JSONArray searchMulti(String query) {
+        return search("multi", query);
+    }
+
+    public CompletableFuture<JSONArray> searchMultiAsync(String query) {
+        return searchAsync("multi", query);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = searchCache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", searchCache.synchronous().estimatedSize());
+        result.put("bytes", cachedBytes());
+        result.put("hitRatio", stats.hitRate());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        return result;
+    }
+
+    static String normalize(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private SearchResult fetchSearch(SearchKey key) {
+        String url = TMDB_BASE_URL + "/search/" + key.mediaType()
+                + "?api_key=" + tmdbApiKey
+                + "&query=" + URLEncoder.encode(key.query(), StandardCharsets.UTF_8);
+
+        String body = restTemplate.getForObject(url, String.class);
+        JSONArray results = new JSONObject(body).optJSONArray("results");
+        if (results == null) results = new JSONArray();
+
+        log.debug("🎬 TMDB search [{}] '{}' → {} results", key.mediaType(), key.query(), results.length());
+        return new SearchResult(results, body == null ? 0 : body.length());
+    }
+
+    private long cachedBytes() {
+        return searchCache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    record SearchKey(String mediaType, String query) {
+    }
+
+    record SearchResult(JSONArray results, int bodyLength) {
+        boolean isNegative() {
+            return results.isEmpty();
+        }
+
+        // Rough heap cost of the parsed JSON: ~2 bytes per char plus object overhead
+        int weight() {
+            return Math.max(1, bodyLength * 2);
+        }
+    }
+
+    // Positive entries live until stale-ttl (refresh kicks in at fresh-ttl); negatives expire quickly
+    private class SearchExpiry implements Expiry<SearchKey, SearchResult> {
+        @Override
+        public long expireAfterCreate(SearchKey key, SearchResult value, long currentTime) {
+            return ttlNanos(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(SearchKey key, SearchResult value, long currentTime, long currentDuration) {
+            return ttlNanos(value);
+        }
+
+        @Override
+        public long expireAfterRead(SearchKey key, SearchResult value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long ttlNanos(SearchResult value) {
+            return value.isNegative()
+                    ? Duration.ofMinutes(negativeTtlMinutes).toNanos()
+                    : Duration.ofHours(staleTtlHours).toNanos();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.cinecooltv.backend.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: {@code capacity} tokens, refilled continuously at
+ * {@code capacity / period}. State is swapped with a CAS, so concurrent requests
+ * on the same key never block each other.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(int capacity, long periodNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (double) periodNanos;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when a token was taken, otherwise nanos until one is available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double available = Math.min(capacity,
+                    current.tokens + Math.max(0, nowNanos - current.updatedNanos) * tokensPerNano);
+
+            if (available < 1) {
+                return (long) Math.ceil((1 - available) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(available - 1, nowNanos))) {
+                return 0;
+            }
+        }
+    }
+
+    private record State(double tokens, long updatedNanos) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.cinecooltv.backend.auth.security;
+
+import com.cinecooltv.backend.service.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // One request per hour, so the second one is always over the limit
+        rateLimiter = new RateLimiter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(rateLimiter, "ipRules", "/api/auth/login:1/1h");
+        ReflectionTestUtils.setField(rateLimiter, "emailRules", "");
+        ReflectionTestUtils.setField(rateLimiter, "principalRules", "/api/ai/ask:1/1h");
+        ReflectionTestUtils.invokeMethod(rateLimiter, "init");
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void secondRequestFromTheSameIpGets429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byIp(rateLimiter, false);
+
+        MockHttpServletResponse first = run(filter, request("/api/auth/login", "10.0.0.1"));
+        MockHttpServletResponse second = run(filter, request("/api/auth/login", "10.0.0.1"));
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(second.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(3599L, 3601L);
+        assertThat(second.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    void otherIpsAndUncoveredPathsPassThrough() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byIp(rateLimiter, false);
+        run(filter, request("/api/auth/login", "10.0.0.1"));
+
+        assertThat(run(filter, request("/api/auth/login", "10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(run(filter, request("/api/movies", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void encodedPathsShareTheBucketOfTheDecodedPath() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byIp(rateLimiter, false);
+
+        assertThat(run(filter, request("/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(run(filter, request("/api/auth/%6Cogin", "10.0.0.1")).getStatus()).isEqualTo(429);
+        assertThat(run(filter, request("/api/auth/login;jsessionid=x", "10.0.0.1")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void encodedPathsCannotSkipThePrincipalLimit() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byPrincipal(rateLimiter);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+
+        assertThat(run(filter, request("/api/ai/%61sk", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(run(filter, request("/api/ai/ask", "10.0.0.1")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void onlyTheLastForwardedHopIsTrusted() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byIp(rateLimiter, true);
+
+        MockHttpServletRequest first = request("/api/auth/login", "10.0.0.100");
+        first.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7");
+        // A forged first hop does not make this a different client
+        MockHttpServletRequest second = request("/api/auth/login", "10.0.0.100");
+        second.addHeader("X-Forwarded-For", "2.2.2.2, 203.0.113.7");
+
+        assertThat(run(filter, first).getStatus()).isEqualTo(200);
+        assertThat(run(filter, second).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void principalScopeLimitsSignedInUsersOnly() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byPrincipal(rateLimiter);
+
+        // Anonymous requests have no key and are left to the IP filter
+        assertThat(run(filter, request("/api/ai/ask", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(run(filter, request("/api/ai/ask", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+        assertThat(run(filter, request("/api/ai/ask", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(run(filter, request("/api/ai/ask", "10.0.0.2")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void preflightRequestsAreNeverLimited() throws Exception {
+        RateLimitFilter filter = RateLimitFilter.byIp(rateLimiter, false);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest preflight = request("/api/auth/login", "10.0.0.1");
+            preflight.setMethod("OPTIONS");
+            assertThat(run(filter, preflight).getStatus()).isEqualTo(200);
+        }
+        assertThat(run(filter, request("/api/auth/login", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletResponse run(RateLimitFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
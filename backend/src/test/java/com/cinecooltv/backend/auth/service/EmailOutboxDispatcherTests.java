@@ -0,0 +1,128 @@
+package com.cinecooltv.backend.auth.service;
+
+import com.cinecooltv.backend.model.EmailOutbox;
+import com.cinecooltv.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTests {
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        dispatcher = new EmailOutboxDispatcher(repository, emailService, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 6);
+        ReflectionTestUtils.setField(dispatcher, "backoffInitialMs", 2000L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMs", 120_000L);
+    }
+
+    @Test
+    void sendsTheWholeBatchInOneRequest() {
+        List<EmailOutbox> batch = List.of(email(1, "a@example.com"), email(2, "b@example.com"));
+        when(repository.lockDueBatch(any(), anyInt())).thenReturn(batch);
+
+        dispatcher.dispatch();
+
+        verify(emailService).sendOtpBatch(anyList());
+        verify(emailService, never()).sendOtpEmail(any(), any());
+        verify(repository).markSent(eq(List.of(1L, 2L)), eq(EmailOutbox.Status.SENT), any());
+    }
+
+    @Test
+    void rejectedBatchFailsOnlyTheRecipientsBrevoRefuses() {
+        EmailOutbox good = email(1, "a@example.com");
+        EmailOutbox bad = email(2, "not-an-address");
+        EmailOutbox other = email(3, "c@example.com");
+        when(repository.lockDueBatch(any(), anyInt())).thenReturn(List.of(good, bad, other));
+
+        doThrow(badRequest()).when(emailService).sendOtpBatch(anyList());
+        doThrow(badRequest()).when(emailService).sendOtpEmail(eq("not-an-address"), any());
+
+        dispatcher.dispatch();
+
+        verify(emailService).sendOtpEmail(eq("a@example.com"), any());
+        verify(emailService).sendOtpEmail(eq("c@example.com"), any());
+        verify(repository).markSent(eq(List.of(1L, 3L)), eq(EmailOutbox.Status.SENT), any());
+        verify(repository).saveAll(List.of(bad));
+        assertThat(bad.getStatus()).isEqualTo(EmailOutbox.Status.FAILED);
+        assertThat(good.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+    }
+
+    @Test
+    void transientErrorsDuringTheFallbackAreRetriedNotFailed() {
+        EmailOutbox bad = email(1, "not-an-address");
+        EmailOutbox flaky = email(2, "b@example.com");
+        when(repository.lockDueBatch(any(), anyInt())).thenReturn(List.of(bad, flaky));
+
+        doThrow(badRequest()).when(emailService).sendOtpBatch(anyList());
+        doThrow(badRequest()).when(emailService).sendOtpEmail(eq("not-an-address"), any());
+        doThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .when(emailService).sendOtpEmail(eq("b@example.com"), any());
+
+        dispatcher.dispatch();
+
+        assertThat(bad.getStatus()).isEqualTo(EmailOutbox.Status.FAILED);
+        assertThat(flaky.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(flaky.getAttempts()).isEqualTo(1);
+        verify(repository, never()).markSent(any(), any(), any());
+    }
+
+    @Test
+    void transientBatchErrorRetriesEveryRowWithoutSplitting() {
+        List<EmailOutbox> batch = List.of(email(1, "a@example.com"), email(2, "b@example.com"));
+        when(repository.lockDueBatch(any(), anyInt())).thenReturn(batch);
+        doThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)).when(emailService).sendOtpBatch(anyList());
+
+        dispatcher.dispatch();
+
+        verify(emailService, never()).sendOtpEmail(any(), any());
+        assertThat(batch).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+            assertThat(email.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    private static HttpClientErrorException badRequest() {
+        return new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+    }
+
+    private static EmailOutbox email(long id, String to) {
+        EmailOutbox email = new EmailOutbox();
+        ReflectionTestUtils.setField(email, "id", id);
+        email.setToEmail(to);
+        email.setOtp("123456");
+        email.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+        email.setNextAttemptAt(LocalDateTime.now());
+        email.setCreatedAt(LocalDateTime.now());
+        return email;
+    }
+}
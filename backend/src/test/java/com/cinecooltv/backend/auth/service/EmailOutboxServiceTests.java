@@ -0,0 +1,23 @@
+package com.cinecooltv.backend.auth.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailOutboxServiceTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"user@example.com", "first.last+tag@mail.example.co.uk"})
+    void acceptsDeliverableAddresses(String email) {
+        assertThat(EmailOutboxService.isValidAddress(email)).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "not-an-address", "user@localhost", "two@@example.com", "sp ace@example.com", "user@example."})
+    void rejectsAddressesBrevoWouldRefuse(String email) {
+        assertThat(EmailOutboxService.isValidAddress(email)).isFalse();
+    }
+}
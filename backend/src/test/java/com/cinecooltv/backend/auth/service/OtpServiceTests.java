@@ -0,0 +1,145 @@
+package com.cinecooltv.backend.auth.service;
+
+import com.cinecooltv.backend.model.OtpVerification;
+import com.cinecooltv.backend.repository.OtpRepository;
+import com.cinecooltv.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs OtpService behind Spring's real transaction interceptor, so a rejected
+ * guess is checked to commit (not roll back) its attempt count.
+ */
+class OtpServiceTests {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final OtpRepository otpRepository = mock(OtpRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    // The "database": the current OTP row, or null once it has been deleted
+    private final AtomicReference<OtpVerification> stored = new AtomicReference<>();
+
+    private OtpService otpService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        when(otpRepository.findTopByEmailOrderByExpiryDesc(EMAIL))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(otpRepository.incrementAttempts(anyLong())).thenAnswer(invocation -> {
+            OtpVerification record = stored.get();
+            if (record == null || record.isUsed()) return null;
+            record.setAttempts(record.getAttempts() + 1);
+            return record.getAttempts();
+        });
+        doAnswer(invocation -> {
+            stored.set(null);
+            return null;
+        }).when(otpRepository).deleteById(anyLong());
+        when(otpRepository.markUsed(anyLong())).thenAnswer(invocation -> {
+            OtpVerification record = stored.get();
+            if (record == null || record.isUsed()) return 0;
+            record.setUsed(true);
+            return 1;
+        });
+
+        OtpService target = new OtpService(otpRepository, mock(UserRepository.class), mock(EmailOutboxService.class));
+        ProxyFactory proxy = new ProxyFactory(target);
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        otpService = (OtpService) proxy.getProxy();
+
+        stored.set(otp("123456", LocalDateTime.now().plusMinutes(10)));
+    }
+
+    @Test
+    void wrongGuessesLockTheOtpAfterTheAttemptLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertRejected("000000", HttpStatus.BAD_REQUEST);
+        }
+        assertRejected("000000", HttpStatus.TOO_MANY_REQUESTS);
+
+        // Locked: even the right code no longer works
+        assertRejected("123456", HttpStatus.NOT_FOUND);
+        verify(otpRepository).deleteById(1L);
+    }
+
+    @Test
+    void rejectedGuessesCommitTheirAttemptCount() {
+        assertRejected("000000", HttpStatus.BAD_REQUEST);
+        assertRejected("000000", HttpStatus.BAD_REQUEST);
+
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void expiredOtpIsDeletedAndTheDeleteCommitted() {
+        OtpVerification expired = otp("123456", LocalDateTime.now().minusMinutes(1));
+        stored.set(expired);
+
+        assertRejected("123456", HttpStatus.BAD_REQUEST);
+
+        verify(otpRepository).delete(expired);
+        verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void correctOtpIsConsumedOnce() {
+        otpService.verifyOtp(EMAIL, "123456");
+
+        assertThat(stored.get().isUsed()).isTrue();
+        assertRejected("123456", HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void unexpectedErrorsStillRollBack() {
+        doThrow(new IllegalStateException("connection lost")).when(otpRepository).markUsed(anyLong());
+
+        assertThatThrownBy(() -> otpService.verifyOtp(EMAIL, "123456")).isInstanceOf(IllegalStateException.class);
+
+        verify(transactionManager).rollback(any());
+    }
+
+    private void assertRejected(String guess, HttpStatus status) {
+        assertThatThrownBy(() -> otpService.verifyOtp(EMAIL, guess))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(status));
+    }
+
+    private static OtpVerification otp(String code, LocalDateTime expiry) {
+        OtpVerification record = new OtpVerification();
+        ReflectionTestUtils.setField(record, "id", 1L);
+        record.setEmail(EMAIL);
+        record.setOtp(code);
+        record.setExpiry(expiry);
+        return record;
+    }
+}
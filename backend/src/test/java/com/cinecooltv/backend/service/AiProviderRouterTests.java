@@ -0,0 +1,230 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.exception.AiUnavailableException;
+import com.cinecooltv.backend.exception.ProviderBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiProviderRouterTests {
+
+    private static final AiContextBuilder.PromptContext CONTEXT =
+            new AiContextBuilder.PromptContext("[]", List.of(), 1, 10);
+
+    @Test
+    void primaryAnswersWhenHealthy() {
+        FlakyProvider primary = new FlakyProvider("primary", 0);
+        FlakyProvider fallback = new FlakyProvider("fallback", 0);
+        AiProviderRouter router = router(primary, fallback);
+
+        AiProviderRouter.AiResult result = router.completeAsync(CONTEXT).join();
+
+        assertThat(result.provider()).isSameAs(primary);
+        assertThat(fallback.calls).isZero();
+    }
+
+    @Test
+    void failsOverToTheFallbackWhenThePrimaryFails() {
+        FlakyProvider primary = new FlakyProvider("primary", 1);
+        FlakyProvider fallback = new FlakyProvider("fallback", 0);
+        AiProviderRouter router = router(primary, fallback);
+
+        AiProviderRouter.AiResult result = router.completeAsync(CONTEXT).join();
+
+        assertThat(result.provider()).isSameAs(fallback);
+        assertThat(result.answer()).isEqualTo("fallback answer 1");
+    }
+
+    @Test
+    void skipsThePrimaryOnceItsBreakerOpens() {
+        FlakyProvider primary = new FlakyProvider("primary", Integer.MAX_VALUE);
+        FlakyProvider fallback = new FlakyProvider("fallback", 0);
+        AiProviderRouter router = router(primary, fallback);
+
+        // min-calls is 3: the third failure opens the primary's breaker
+        for (int i = 0; i < 3; i++) router.completeAsync(CONTEXT).join();
+        assertThat(router.breakerStates()).containsEntry("primary", "OPEN").containsEntry("fallback", "CLOSED");
+
+        router.completeAsync(CONTEXT).join();
+        router.completeAsync(CONTEXT).join();
+
+        assertThat(primary.calls).isEqualTo(3);
+        assertThat(fallback.calls).isEqualTo(5);
+    }
+
+    @Test
+    void failsFastWhenEveryProviderIsDownOrOpen() {
+        FlakyProvider primary = new FlakyProvider("primary", Integer.MAX_VALUE);
+        FlakyProvider fallback = new FlakyProvider("fallback", Integer.MAX_VALUE);
+        AiProviderRouter router = router(primary, fallback);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> router.completeAsync(CONTEXT).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(AiUnavailableException.class);
+        }
+        assertThat(router.breakerStates()).containsEntry("primary", "OPEN").containsEntry("fallback", "OPEN");
+
+        assertThatThrownBy(() -> router.completeAsync(CONTEXT).join())
+                .hasCauseInstanceOf(AiUnavailableException.class);
+        assertThat(primary.calls).isEqualTo(3);
+        assertThat(fallback.calls).isEqualTo(3);
+    }
+
+    @Test
+    void localBackPressureDoesNotOpenTheBreaker() {
+        FlakyProvider primary = new FlakyProvider("primary", 10);
+        primary.busy = true;
+        FlakyProvider fallback = new FlakyProvider("fallback", 0);
+        AiProviderRouter router = router(primary, fallback);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(router.completeAsync(CONTEXT).join().provider()).isSameAs(fallback);
+        }
+
+        // Busy calls are not failures: the primary is still tried and answers once it has room
+        assertThat(router.breakerStates()).containsEntry("primary", "CLOSED");
+        assertThat(router.completeAsync(CONTEXT).join().provider()).isSameAs(primary);
+        assertThat(primary.calls).isEqualTo(11);
+    }
+
+    @Test
+    void busyWithoutAFallbackFailsWithoutCountingAgainstTheProvider() {
+        FlakyProvider primary = new FlakyProvider("primary", 5);
+        primary.busy = true;
+        AiProviderRouter router = router(primary, null);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> router.completeAsync(CONTEXT).join())
+                    .hasCauseInstanceOf(AiUnavailableException.class)
+                    .hasRootCauseInstanceOf(ProviderBusyException.class);
+        }
+
+        assertThat(router.breakerStates()).containsEntry("primary", "CLOSED");
+    }
+
+    @Test
+    void streamFailsOverBeforeTheFirstToken() {
+        FlakyProvider primary = new FlakyProvider("primary", 1);
+        FlakyProvider fallback = new FlakyProvider("fallback", 0);
+        AiProviderRouter router = router(primary, fallback);
+        List<String> tokens = new ArrayList<>();
+
+        AiProviderRouter.AiResult result = router.stream(CONTEXT, tokens::add);
+
+        assertThat(result.provider()).isSameAs(fallback);
+        assertThat(tokens).containsExactly("fallback answer 1");
+    }
+
+    @Test
+    void streamDoesNotFailOverAfterTokensWentOut() {
+        FlakyProvider primary = new FlakyProvider("primary", 1);
+        primary.failAfterFirstToken = true;
+        FlakyProvider fallback = new FlakyProvider("fallback", 0);
+        AiProviderRouter router = router(primary, fallback);
+        List<String> tokens = new ArrayList<>();
+
+        assertThatThrownBy(() -> router.stream(CONTEXT, tokens::add)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(tokens).containsExactly("partial");
+        assertThat(fallback.calls).isZero();
+    }
+
+    @Test
+    void clientDisconnectsDoNotCountAgainstTheProvider() {
+        FlakyProvider primary = new FlakyProvider("primary", 0);
+        AiProviderRouter router = router(primary, null);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> router.stream(CONTEXT, token -> {
+                throw new IOException("Broken pipe");
+            })).isInstanceOf(UncheckedIOException.class);
+        }
+
+        assertThat(router.breakerStates()).containsEntry("primary", "CLOSED");
+    }
+
+    private static AiProviderRouter router(FlakyProvider primary, FlakyProvider fallback) {
+        List<AiProvider> providers = new ArrayList<>();
+        providers.add(primary);
+        if (fallback != null) providers.add(fallback);
+
+        AiProviderRouter router = new AiProviderRouter(providers, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "primaryName", primary.name());
+        ReflectionTestUtils.setField(router, "fallbackName", fallback == null ? "" : fallback.name());
+        ReflectionTestUtils.setField(router, "windowSize", 10);
+        ReflectionTestUtils.setField(router, "minCalls", 3);
+        ReflectionTestUtils.setField(router, "failureRate", 0.5);
+        ReflectionTestUtils.setField(router, "slowCallMs", 10_000L);
+        ReflectionTestUtils.setField(router, "openMs", 60_000L);
+        router.init();
+        return router;
+    }
+
+    // Fails its first `failures` calls, then answers "<name> answer <call>"
+    private static final class FlakyProvider implements AiProvider {
+        private final String name;
+        private final int failures;
+        int calls;
+        boolean failAfterFirstToken;
+        // Fail with local back-pressure instead of an upstream error
+        boolean busy;
+
+        FlakyProvider(String name, int failures) {
+            this.name = name;
+            this.failures = failures;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String model() {
+            return name + "-model";
+        }
+
+        @Override
+        public double temperature() {
+            return 0;
+        }
+
+        @Override
+        public CompletableFuture<String> completeAsync(AiContextBuilder.PromptContext context) {
+            calls++;
+            if (calls <= failures) {
+                return CompletableFuture.failedFuture(busy
+                        ? new ProviderBusyException(name + " busy")
+                        : new IllegalStateException(name + " down"));
+            }
+            return CompletableFuture.completedFuture(name + " answer " + calls);
+        }
+
+        @Override
+        public String stream(AiContextBuilder.PromptContext context, TokenSink sink) {
+            calls++;
+            try {
+                if (calls <= failures) {
+                    if (failAfterFirstToken) sink.accept("partial");
+                    throw new IllegalStateException(name + " down");
+                }
+                String answer = name + " answer " + calls;
+                sink.accept(answer);
+                return answer;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
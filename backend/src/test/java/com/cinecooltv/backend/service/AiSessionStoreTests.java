@@ -0,0 +1,170 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiSessionStoreTests {
+
+    private final AtomicLong now = new AtomicLong();
+    private AiSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = store(1000, 1_000_000, 40, 30);
+        store.nanoTime = now::get;
+    }
+
+    @Test
+    void historyKeepsTheLastMessagesAndCountsTheirBytes() {
+        ReflectionTestUtils.setField(store, "maxMessages", 3);
+
+        for (int i = 1; i <= 5; i++) {
+            store.append("s", "message " + i);
+        }
+
+        assertThat(store.history("s")).containsExactly("message 3", "message 4", "message 5");
+        assertThat(store.stats()).containsEntry("totalBytes", 3 * 2L * "message 1".length());
+    }
+
+    @Test
+    void removeReleasesTheSessionBytes() {
+        store.append("s", "hello");
+
+        assertThat(store.remove("s")).isTrue();
+        assertThat(store.remove("s")).isFalse();
+        assertThat(store.history("s")).isEmpty();
+        assertThat(store.stats()).containsEntry("totalBytes", 0L);
+    }
+
+    @Test
+    void byteCapEvictsLeastRecentlyUsedSessionsDownToNinetyPercent() {
+        ReflectionTestUtils.setField(store, "maxTotalBytes", 100L);
+
+        // 20 bytes each: five sessions fill the cap exactly
+        for (int i = 1; i <= 5; i++) {
+            now.set(i);
+            store.append("s" + i, "0123456789");
+        }
+        assertThat(store.size()).isEqualTo(5);
+
+        now.set(6);
+        store.append("s6", "0123456789");
+
+        assertThat(store.history("s1")).isEmpty();
+        assertThat(store.history("s2")).isEmpty();
+        assertThat(store.history("s3")).containsExactly("0123456789");
+        assertThat(store.history("s6")).containsExactly("0123456789");
+        assertThat(store.stats()).containsEntry("totalBytes", 80L).containsEntry("evictions", 2L);
+    }
+
+    @Test
+    void sessionCapEvictsTheOldestSessionsButKeepsRecentlyReadOnes() {
+        ReflectionTestUtils.setField(store, "maxSessions", 10);
+
+        for (int i = 0; i < 10; i++) {
+            now.set(i);
+            store.create("s" + i);
+        }
+
+        // Reading s0 makes it the most recently used session
+        now.set(100);
+        store.history("s0");
+
+        now.set(101);
+        store.create("s10");
+
+        assertThat(store.size()).isEqualTo(9);
+        assertThat(sessionIds()).contains("s0", "s3", "s10").doesNotContain("s1", "s2");
+    }
+
+    @Test
+    void idleSweepDropsOnlySessionsPastTheTtl() {
+        now.set(0);
+        store.append("idle", "a");
+        now.set(TimeUnit.MINUTES.toNanos(10));
+        store.append("active", "b");
+
+        now.set(TimeUnit.MINUTES.toNanos(31));
+        store.evictIdle();
+
+        assertThat(sessionIds()).containsExactly("active");
+        assertThat(store.stats()).containsEntry("totalBytes", 2L).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    void appendAfterEvictionStartsAFreshSession() {
+        store.append("s", "old");
+        store.remove("s");
+
+        store.append("s", "new");
+
+        assertThat(store.history("s")).containsExactly("new");
+        assertThat(store.stats()).containsEntry("totalBytes", 6L);
+    }
+
+    @Test
+    void lruPassToleratesAccessTimesChangingWhileItSorts() throws Exception {
+        // Real clock: readers keep touching sessions while writers force LRU passes.
+        // Sorting on the live lastAccess field could throw "Comparison method
+        // violates its general contract"; the pass sorts a snapshot instead.
+        AiSessionStore live = store(200, Long.MAX_VALUE, 40, 30);
+        for (int i = 0; i < 200; i++) {
+            live.create("warm" + i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    while (running.get()) {
+                        for (int i = 0; i < 200; i++) live.history("warm" + i);
+                    }
+                }));
+            }
+
+            Future<?> writer = pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) live.append("new" + i, "x");
+            });
+
+            writer.get(30, TimeUnit.SECONDS);
+            running.set(false);
+            for (Future<?> reader : readers) reader.get(5, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+
+        assertThat(live.size()).isLessThanOrEqualTo(200);
+    }
+
+    private List<String> sessionIds() {
+        @SuppressWarnings("unchecked")
+        Map<String, ?> sessions = (Map<String, ?>) ReflectionTestUtils.getField(store, "sessions");
+        return new ArrayList<>(sessions.keySet());
+    }
+
+    private static AiSessionStore store(int maxSessions, long maxTotalBytes, int maxMessages, long idleTtlMinutes) {
+        AiSessionStore store = new AiSessionStore(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "maxSessions", maxSessions);
+        ReflectionTestUtils.setField(store, "maxTotalBytes", maxTotalBytes);
+        ReflectionTestUtils.setField(store, "maxMessages", maxMessages);
+        ReflectionTestUtils.setField(store, "idleTtlMinutes", idleTtlMinutes);
+        return store;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cinecooltv.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSyncServiceTests {
+
+    private static final String ROWS_JSON = "{\"results\":[{\"id\":1}]}";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final AtomicLong now = new AtomicLong();
+
+    private CatalogSyncService catalogSyncService;
+
+    @BeforeEach
+    void setUp() {
+        // Loads run on the calling thread
+        catalogSyncService = new CatalogSyncService(restTemplate, Runnable::run, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(catalogSyncService, "tmdbApiKey", "key");
+        ReflectionTestUtils.setField(catalogSyncService, "language", "en-US");
+        ReflectionTestUtils.setField(catalogSyncService, "retryBackoffMs", 30_000L);
+        catalogSyncService.nanoTime = now::get;
+    }
+
+    @Test
+    void missingRowIsLoadedOnceAndThenServedFromTheSnapshot() {
+        when(restTemplate.getForObject(contains("/movie/top_rated"), eq(String.class))).thenReturn(ROWS_JSON);
+
+        CatalogSyncService.Row row = catalogSyncService.rowAsync("topRatedMovies").join();
+        CatalogSyncService.Row again = catalogSyncService.rowAsync("topRatedMovies").join();
+
+        assertThat(new String(row.json(), StandardCharsets.UTF_8)).isEqualTo(ROWS_JSON);
+        assertThat(again).isSameAs(row);
+        assertThat(catalogSyncService.snapshot().rows()).containsKey("topRatedMovies");
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void failedRowIsNotFetchedAgainUntilTheBackoffPasses() {
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenThrow(new ResourceAccessException("TMDB down"))
+                .thenReturn(ROWS_JSON);
+
+        assertThatThrownBy(() -> catalogSyncService.rowAsync("topRatedMovies").join())
+                .isInstanceOf(CompletionException.class);
+
+        // Page views during the backoff fail fast without calling TMDB
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> catalogSyncService.rowAsync("topRatedMovies").join())
+                    .hasMessageContaining("failed recently");
+        }
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(String.class));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(catalogSyncService.rowAsync("topRatedMovies").join()).isNotNull();
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    void backoffIsPerRow() {
+        when(restTemplate.getForObject(contains("/movie/top_rated"), eq(String.class)))
+                .thenThrow(new ResourceAccessException("TMDB down"));
+        when(restTemplate.getForObject(contains("/movie/popular"), eq(String.class))).thenReturn(ROWS_JSON);
+
+        assertThatThrownBy(() -> catalogSyncService.rowAsync("topRatedMovies").join())
+                .isInstanceOf(CompletionException.class);
+
+        assertThat(catalogSyncService.rowAsync("popularMovies").join()).isNotNull();
+    }
+
+    @Test
+    void failedScheduledRefreshAlsoStartsTheBackoff() {
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenReturn(ROWS_JSON);
+        when(restTemplate.getForObject(contains("/movie/top_rated"), eq(String.class)))
+                .thenThrow(new ResourceAccessException("TMDB down"));
+
+        catalogSyncService.sync();
+
+        assertThat(catalogSyncService.snapshot().rows())
+                .hasSize(CatalogSyncService.rowKeys().size() - 1)
+                .doesNotContainKey("topRatedMovies");
+        assertThatThrownBy(() -> catalogSyncService.rowAsync("topRatedMovies").join())
+                .hasMessageContaining("failed recently");
+        verify(restTemplate, times(1)).getForObject(contains("/movie/top_rated"), eq(String.class));
+    }
+
+    @Test
+    void unknownRowsFail() {
+        assertThatThrownBy(() -> catalogSyncService.rowAsync("nope").join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,139 @@
+package com.cinecooltv.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final AtomicLong now = new AtomicLong();
+
+    // window 4, min 4 calls, 50% bad opens it, slow above 1 s, open for 30 s
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.5, 1000, 30_000, now::get);
+
+    @Test
+    void staysClosedUntilMinCallsAreRecorded() {
+        fail(3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void opensAtTheFailureRateAndRejectsWhileOpen() {
+        succeed(2);
+        fail(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void slowSuccessesCountAsBadCalls() {
+        succeed(2);
+        slowSuccess(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void oldCallsSlideOutOfTheWindow() {
+        fail(1);
+        succeed(3);
+        // The failure is evicted by the fifth call, so one more failure is still 25%
+        succeed(1);
+        fail(1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void letsOneTrialThroughAfterTheOpenPeriod() {
+        fail(4);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void successfulTrialClosesWithAFreshWindow() {
+        openAndStartTrial();
+
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        // Previous failures are forgotten: three new ones stay below min calls
+        fail(3);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedTrialReopensForAnotherFullPeriod() {
+        openAndStartTrial();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void slowTrialReopens() {
+        openAndStartTrial();
+
+        breaker.onSuccess(SLOW);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void ignoredTrialFreesTheSlotWithoutChangingState() {
+        openAndStartTrial();
+
+        breaker.onIgnored();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private void openAndStartTrial() {
+        fail(4);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onSuccess(FAST);
+        }
+    }
+
+    private void slowSuccess(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onSuccess(SLOW);
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+    }
+}
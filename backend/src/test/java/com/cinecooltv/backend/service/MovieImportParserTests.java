@@ -0,0 +1,89 @@
+package com.cinecooltv.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MovieImportParserTests {
+
+    @Test
+    void csvColumnsAreMatchedByHeaderInAnyOrder() {
+        MovieImportParser parser = MovieImportParser.csv("Rating,release_year,TITLE,favorite,unknown");
+
+        MovieImportParser.Row row = parser.parse("8.7, 1999 ,The Matrix,true,ignored");
+
+        assertThat(row).isEqualTo(new MovieImportParser.Row("The Matrix", null, null, 1999, 8.7, true));
+    }
+
+    @Test
+    void csvQuotedFieldsKeepCommasAndEscapedQuotes() {
+        MovieImportParser parser = MovieImportParser.csv("title,genre,director");
+
+        MovieImportParser.Row row = parser.parse("\"Crouching Tiger, Hidden Dragon\",\"Wuxia\",\"Ang \"\"The\"\" Lee\"");
+
+        assertThat(row.title()).isEqualTo("Crouching Tiger, Hidden Dragon");
+        assertThat(row.genre()).isEqualTo("Wuxia");
+        assertThat(row.director()).isEqualTo("Ang \"The\" Lee");
+    }
+
+    @Test
+    void csvMissingAndEmptyFieldsBecomeDefaults() {
+        MovieImportParser parser = MovieImportParser.csv("title,genre,year,rating");
+
+        MovieImportParser.Row row = parser.parse("Heat,,");
+
+        assertThat(row).isEqualTo(new MovieImportParser.Row("Heat", null, null, 0, 0, false));
+    }
+
+    @Test
+    void splitCsvHandlesEmptyAndQuotedFields() {
+        assertThat(MovieImportParser.splitCsv("")).containsExactly("");
+        assertThat(MovieImportParser.splitCsv("a,,\"\"")).containsExactly("a", "", "");
+        assertThat(MovieImportParser.splitCsv("\"\"\"\"")).containsExactly("\"");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {",Drama", "\"unterminated,Drama", "Heat,Drama,nineteen", "Heat,Drama,1995,NaN"})
+    void invalidCsvRowsAreRejected(String line) {
+        MovieImportParser parser = MovieImportParser.csv("title,genre,year,rating");
+
+        assertThatThrownBy(() -> parser.parse(line)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void csvHeaderMustNameATitleColumn() {
+        assertThatThrownBy(() -> MovieImportParser.csv(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MovieImportParser.csv("genre,rating"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("title");
+    }
+
+    @Test
+    void ndjsonAcceptsBothYearSpellings() {
+        MovieImportParser parser = MovieImportParser.ndjson();
+
+        MovieImportParser.Row camel = parser.parse(
+                "{\"title\":\"Alien\",\"genre\":\"Sci-Fi\",\"director\":\"Ridley Scott\",\"releaseYear\":1979,\"rating\":8.5,\"favorite\":true}");
+        MovieImportParser.Row snake = parser.parse("{\"title\":\"Alien\",\"release_year\":1979}");
+
+        assertThat(camel).isEqualTo(new MovieImportParser.Row("Alien", "Sci-Fi", "Ridley Scott", 1979, 8.5, true));
+        assertThat(snake.releaseYear()).isEqualTo(1979);
+        assertThat(snake.rating()).isZero();
+    }
+
+    @Test
+    void ndjsonKeepsQuotesInsideStrings() {
+        MovieImportParser.Row row = MovieImportParser.ndjson().parse("{\"title\":\"The \\\"Good\\\" Place\"}");
+
+        assertThat(row.title()).isEqualTo("The \"Good\" Place");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not json", "{\"genre\":\"Drama\"}", "{\"title\":\"  \"}", "{\"title\":\"Heat\""})
+    void invalidNdjsonRowsAreRejected(String line) {
+        assertThatThrownBy(() -> MovieImportParser.ndjson().parse(line)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.dto.MovieImportStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieImportServiceTests {
+
+    // Everything handed to the COPY stream
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    private final CopyIn copyIn = mock(CopyIn.class);
+
+    private MovieImportService importService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        doAnswer(invocation -> {
+            copied.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copyIn.endCopy()).thenAnswer(invocation -> copied.toString(StandardCharsets.UTF_8).lines().count());
+
+        importService = new MovieImportService(dataSource, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(importService, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(importService, "maxRejected", 2L);
+        ReflectionTestUtils.setField(importService, "copyBufferChars", 16);
+        ReflectionTestUtils.setField(importService, "historySize", 5);
+        importService.init();
+    }
+
+    @Test
+    void appendCopyRowQuotesTextAndDoublesEmbeddedQuotes() {
+        StringBuilder out = new StringBuilder();
+
+        MovieImportService.appendCopyRow(out,
+                new MovieImportParser.Row("Say \"Hi\", Bob", null, "Line\nBreak", 2001, 7.5, true));
+
+        assertThat(out).hasToString("\"Say \"\"Hi\"\", Bob\",,\"Line\nBreak\",2001,7.5,t\n");
+    }
+
+    @Test
+    void appendCopyRowKeepsEmptyStringsDistinctFromNull() {
+        StringBuilder out = new StringBuilder();
+
+        MovieImportService.appendCopyRow(out, new MovieImportParser.Row("\"", "", null, 0, 0, false));
+
+        assertThat(out).hasToString("\"\"\"\",\"\",,0,0.0,f\n");
+    }
+
+    @Test
+    void csvImportStreamsValidRowsAndReportsRejectedOnes() throws Exception {
+        MovieImportStatus status = importService.importMovies(body("""
+                title,genre,year
+                "Heat, Again",Crime,1995
+
+                ,Drama,2000
+                Alien,Sci-Fi,1979
+                """), MovieImportService.Format.CSV);
+
+        assertThat(status.status()).isEqualTo("COMPLETED");
+        assertThat(status.rowsCopied()).isEqualTo(2);
+        assertThat(status.rowsRejected()).isEqualTo(1);
+        assertThat(status.rowsImported()).isEqualTo(2);
+        assertThat(status.errors()).containsExactly("line 4: title is required");
+        assertThat(copied.toString(StandardCharsets.UTF_8))
+                .isEqualTo("\"Heat, Again\",\"Crime\",,1995,0.0,f\n\"Alien\",\"Sci-Fi\",,1979,0.0,f\n");
+        verify(copyIn, never()).cancelCopy();
+    }
+
+    @Test
+    void tooManyRejectedRowsFailsTheImportAndCancelsTheCopy() throws Exception {
+        when(copyIn.isActive()).thenReturn(true);
+
+        MovieImportStatus status = importService.importMovies(body("""
+                {"title":"Heat"}
+                not json
+                {"genre":"Drama"}
+                {"title":"Alien"}
+                {"title":"  "}
+                {"title":"Never read"}
+                """), MovieImportService.Format.NDJSON);
+
+        assertThat(status.status()).isEqualTo("FAILED");
+        assertThat(status.rowsRejected()).isEqualTo(3);
+        assertThat(status.rowsCopied()).isEqualTo(2);
+        assertThat(status.rowsImported()).isZero();
+        assertThat(status.errors()).last().isEqualTo("More than 2 invalid rows");
+        verify(copyIn).cancelCopy();
+        verify(copyIn, never()).endCopy();
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
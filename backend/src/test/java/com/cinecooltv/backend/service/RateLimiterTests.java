@@ -0,0 +1,114 @@
+package com.cinecooltv.backend.service;
+
+import com.cinecooltv.backend.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = rateLimiter("/api/ai/ask:3/1m,/api/ai/ask/stream:1/1m", "/api/auth/login:2/10m");
+    }
+
+    @Test
+    void rejectsOnceTheBucketIsEmptyWithRetryAfterInWholeSeconds() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", "10.0.0.1")).isZero();
+        }
+
+        // One token every 20 s, rounded up to whole seconds
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", "10.0.0.1")).isBetween(20L, 21L);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(19_500));
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", "10.0.0.1")).isEqualTo(1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(501));
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", "10.0.0.1")).isZero();
+
+        assertThat(meterRegistry.counter("ratelimit.rejected", "scope", "ip").count()).isEqualTo(2);
+    }
+
+    @Test
+    void keysAndScopesHaveSeparateBuckets() {
+        rateLimiter.tryAcquire(RateLimiter.Scope.EMAIL, "/api/auth/login", "a@example.com");
+        rateLimiter.tryAcquire(RateLimiter.Scope.EMAIL, "/api/auth/login", "a@example.com");
+
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.EMAIL, "/api/auth/login", "a@example.com")).isPositive();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.EMAIL, "/api/auth/login", "b@example.com")).isZero();
+        // No IP rule for the login path
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/auth/login", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void longestMatchingPrefixWins() {
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask/stream", "10.0.0.1")).isZero();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask/stream", "10.0.0.1")).isPositive();
+
+        // The stream rule has its own bucket; /api/ai/ask is untouched
+        assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void uncoveredPathsAndMissingKeysAreNotLimited() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/movies", "10.0.0.1")).isZero();
+            assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", null)).isZero();
+        }
+        assertThat(rateLimiter.covers(RateLimiter.Scope.IP, "/api/movies")).isFalse();
+        assertThat(rateLimiter.covers(RateLimiter.Scope.IP, "/api/ai/ask/stream")).isTrue();
+    }
+
+    @Test
+    void checkNormalizesTheKeyAndThrowsWithRetryAfter() {
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/login", "User@Example.com");
+        rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/login", " user@example.com ");
+
+        assertThatThrownBy(() -> rateLimiter.check(RateLimiter.Scope.EMAIL, "/api/auth/login", "USER@EXAMPLE.COM"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isBetween(300L, 301L));
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        ReflectionTestUtils.setField(rateLimiter, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.IP, "/api/ai/ask", "10.0.0.1")).isZero();
+        }
+    }
+
+    @Test
+    void parsesRulesLongestPrefixFirst() {
+        List<RateLimiter.Rule> rules = RateLimiter.parseRules("/api/ai:5/1m, /api/ai/ask/stream:2/30s,broken");
+
+        assertThat(rules).extracting(RateLimiter.Rule::prefix).containsExactly("/api/ai/ask/stream", "/api/ai");
+        assertThat(rules.get(0).capacity()).isEqualTo(2);
+        assertThat(rules.get(0).periodNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+    }
+
+    private RateLimiter rateLimiter(String ipRules, String emailRules) {
+        RateLimiter limiter = new RateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(limiter, "ipRules", ipRules);
+        ReflectionTestUtils.setField(limiter, "emailRules", emailRules);
+        ReflectionTestUtils.setField(limiter, "principalRules", "");
+        limiter.init();
+        limiter.nanoTime = now::get;
+        return limiter;
+    }
+}
@@ -0,0 +1,123 @@
+package com.cinecooltv.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsForOneKeyShareOneUpstreamCall() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("key", () -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            return "value";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(flight.coalescedCount()).isEqualTo(CALLERS - 1);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void waitingCallersReceiveTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("key", () -> {
+            await(release);
+            throw new IllegalStateException("upstream down");
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("upstream down");
+        }
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void keyIsReleasedOnceTheCallFinishes() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        flight.execute("key", () -> "v" + upstreamCalls.incrementAndGet());
+        String second = flight.execute("key", () -> "v" + upstreamCalls.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(flight.coalescedCount()).isZero();
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() {
+        CountDownLatch release = new CountDownLatch(1);
+        pool.submit(() -> flight.execute("slow", () -> {
+            await(release);
+            return "slow";
+        }));
+
+        assertThat(flight.execute("fast", () -> "fast")).isEqualTo("fast");
+        release.countDown();
+    }
+
+    // Starts CALLERS calls for one key and returns once every caller is inside execute()
+    private List<Future<String>> callConcurrently(String key, Supplier<String> call)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> {
+                started.countDown();
+                return flight.execute(key, call);
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+
+        // Followers register as soon as they reach execute(); wait until all have
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalescedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.cinecooltv.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TitleDetailsServiceTests {
+
+    private static final String BASE = "https://api.themoviedb.org/3/movie/1";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    // TMDB path (after /movie/1) → response body, or the exception to throw
+    private final Map<String, Object> tmdb = new ConcurrentHashMap<>();
+
+    private TitleDetailsService titleDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        tmdb.put("", "{\"id\":1,\"title\":\"Heat\",\"vote_average\":8.3,\"adult\":false}");
+        tmdb.put("/credits", "{\"cast\":[{\"id\":2,\"name\":\"Al Pacino\",\"character\":\"Hanna\"}],"
+                + "\"crew\":[{\"id\":3,\"name\":\"Michael Mann\",\"job\":\"Director\"},{\"id\":4,\"name\":\"Grip\",\"job\":\"Grip\"}]}");
+        tmdb.put("/videos", "{\"results\":[{\"key\":\"abc\",\"site\":\"YouTube\"},{\"key\":\"xyz\",\"site\":\"Vimeo\"}]}");
+        tmdb.put("/recommendations", "{\"results\":[{\"id\":5,\"title\":\"Collateral\"}]}");
+        tmdb.put("/release_dates", "{\"results\":[{\"iso_3166_1\":\"US\",\"release_dates\":[{\"certification\":\"\"},{\"certification\":\"R\"}]}]}");
+
+        when(restTemplate.getForObject(anyString(), eq(String.class))).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            Object response = tmdb.get(url.substring(BASE.length(), url.indexOf('?')));
+            if (response instanceof CountDownLatch latch) {
+                latch.await();
+                return "{\"results\":[]}";
+            }
+            if (response instanceof RuntimeException e) throw e;
+            return response;
+        });
+
+        titleDetailsService = new TitleDetailsService(restTemplate, executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(titleDetailsService, "tmdbApiKey", "key");
+        ReflectionTestUtils.setField(titleDetailsService, "maxEntries", 100L);
+        ReflectionTestUtils.setField(titleDetailsService, "detailsTtlMinutes", 60L);
+        ReflectionTestUtils.setField(titleDetailsService, "creditsTtlMinutes", 60L);
+        ReflectionTestUtils.setField(titleDetailsService, "videosTtlMinutes", 60L);
+        ReflectionTestUtils.setField(titleDetailsService, "recommendationsTtlMinutes", 60L);
+        ReflectionTestUtils.setField(titleDetailsService, "ageRatingTtlMinutes", 60L);
+        ReflectionTestUtils.setField(titleDetailsService, "deadlineMs", 300L);
+        titleDetailsService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mergesTrimmedPartsIntoOneDocument() {
+        TitleDetailsService.TitleDocument document = titleDetailsService.title("movie", 1).join();
+
+        JSONObject json = json(document);
+        assertThat(document.partial()).isFalse();
+        assertThat(json.getString("title")).isEqualTo("Heat");
+        assertThat(json.getString("media_type")).isEqualTo("movie");
+        assertThat(json.has("adult")).isFalse();
+        assertThat(json.getJSONObject("credits").getJSONArray("crew").length()).isEqualTo(1);
+        assertThat(json.getJSONObject("videos").getJSONArray("results").length()).isEqualTo(1);
+        assertThat(json.getString("age_rating")).isEqualTo("R");
+    }
+
+    @Test
+    void missingTitleIs404() {
+        tmdb.put("", HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found",
+                HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+
+        assertStatus(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void otherDetailsFailuresAre502() {
+        tmdb.put("", new ResourceAccessException("Connection reset"));
+        assertStatus(HttpStatus.BAD_GATEWAY);
+
+        tmdb.put("", HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized",
+                HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+        assertStatus(HttpStatus.BAD_GATEWAY);
+    }
+
+    @Test
+    void failedOptionalPartGivesAPartialDocumentThatIsNotMemoized() throws Exception {
+        tmdb.put("/videos", new ResourceAccessException("Connection reset"));
+
+        TitleDetailsService.TitleDocument partial = titleDetailsService.title("movie", 1).join();
+
+        assertThat(partial.partial()).isTrue();
+        assertThat(json(partial).has("videos")).isFalse();
+        assertThat(json(partial).getString("title")).isEqualTo("Heat");
+
+        // The failed part is retried (Caffeine drops a failed load just after it completes)
+        // and the full document replaces the partial one
+        tmdb.put("/videos", "{\"results\":[]}");
+        TitleDetailsService.TitleDocument full = awaitFullDocument();
+
+        assertThat(full.partial()).isFalse();
+        assertThat(json(full).has("videos")).isTrue();
+    }
+
+    @Test
+    void optionalPartMissingTheDeadlineIsLeftOut() throws Exception {
+        CountDownLatch slowVideos = new CountDownLatch(1);
+        tmdb.put("/videos", slowVideos);
+
+        TitleDetailsService.TitleDocument partial = titleDetailsService.title("movie", 1).get(5, TimeUnit.SECONDS);
+
+        assertThat(partial.partial()).isTrue();
+        assertThat(json(partial).has("videos")).isFalse();
+
+        // Once the late part has landed in its cache, the next request gets the full document
+        slowVideos.countDown();
+        TitleDetailsService.TitleDocument full = awaitFullDocument();
+        assertThat(full).isNotSameAs(partial);
+        assertThat(json(full).has("videos")).isTrue();
+    }
+
+    @Test
+    void warmRequestsReuseTheMergedDocument() {
+        TitleDetailsService.TitleDocument first = titleDetailsService.title("movie", 1).join();
+        TitleDetailsService.TitleDocument second = titleDetailsService.title("movie", 1).join();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void documentIsRebuiltWhenAPartIsReloaded() {
+        TitleDetailsService.TitleDocument first = titleDetailsService.title("movie", 1).join();
+
+        parts().synchronous().invalidate(new TitleDetailsService.PartKey(
+                new TitleDetailsService.TitleKey("movie", 1), TitleDetailsService.Part.CREDITS));
+        TitleDetailsService.TitleDocument second = titleDetailsService.title("movie", 1).join();
+
+        // Same content, but built from a new credits instance
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.json()).isEqualTo(first.json());
+        assertThat(titleDetailsService.title("movie", 1).join()).isSameAs(second);
+    }
+
+    @Test
+    void isBuiltFromComparesPartInstancesNotContent() {
+        JSONObject details = new JSONObject().put("id", 1);
+        JSONObject credits = new JSONObject();
+        TitleDetailsService.TitleDocument document =
+                new TitleDetailsService.TitleDocument(new byte[0], new JSONObject[]{details, credits}, false);
+
+        assertThat(document.isBuiltFrom(new JSONObject[]{details, credits})).isTrue();
+        assertThat(document.isBuiltFrom(new JSONObject[]{details, new JSONObject()})).isFalse();
+        assertThat(document.isBuiltFrom(new JSONObject[]{details, null})).isFalse();
+        assertThat(document.isBuiltFrom(new JSONObject[]{details})).isFalse();
+    }
+
+    private TitleDetailsService.TitleDocument awaitFullDocument() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            TitleDetailsService.TitleDocument document = titleDetailsService.title("movie", 1).get(5, TimeUnit.SECONDS);
+            if (!document.partial() || System.nanoTime() > deadline) return document;
+            Thread.sleep(10);
+        }
+    }
+
+    private void assertStatus(HttpStatus status) {
+        assertThatThrownBy(() -> titleDetailsService.title("movie", 1).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(status));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AsyncLoadingCache<TitleDetailsService.PartKey, JSONObject> parts() {
+        return (AsyncLoadingCache<TitleDetailsService.PartKey, JSONObject>)
+                ReflectionTestUtils.getField(titleDetailsService, "parts");
+    }
+
+    private static JSONObject json(TitleDetailsService.TitleDocument document) {
+        return new JSONObject(new String(document.json(), StandardCharsets.UTF_8));
+    }
+}
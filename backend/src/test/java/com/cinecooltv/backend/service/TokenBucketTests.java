@@ -0,0 +1,88 @@
+package com.cinecooltv.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    // One token per TICK (~1.07 s); a power of two keeps the refill math exact
+    private static final long TICK = 1L << 30;
+
+    private final TokenBucket bucket = new TokenBucket(10, 10 * TICK, 0);
+
+    @Test
+    void startsFullAndAllowsABurstUpToCapacity() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(0)).isZero();
+        }
+        assertThat(bucket.tryConsume(0)).isEqualTo(TICK);
+    }
+
+    @Test
+    void waitShrinksAsTokensRefill() {
+        drain(0);
+
+        assertThat(bucket.tryConsume(TICK / 4)).isEqualTo(3 * TICK / 4);
+        assertThat(bucket.tryConsume(TICK)).isZero();
+        assertThat(bucket.tryConsume(TICK)).isEqualTo(TICK);
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        drain(0);
+
+        // An hour idle still only buys a burst of 10
+        long later = TimeUnit.HOURS.toNanos(1);
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotMintTokens() {
+        drain(5 * TICK);
+
+        assertThat(bucket.tryConsume(0)).isEqualTo(TICK);
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanCapacity() throws Exception {
+        TokenBucket shared = new TokenBucket(100, TimeUnit.HOURS.toNanos(1), 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (shared.tryConsume(0) == 0) granted.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+
+    private void drain(long now) {
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(now)).isZero();
+        }
+    }
+}
@@ -22,7 +22,8 @@ import ShimmerCard from "./ShimmerCard";
 
 const IMG_BASE = "https://image.tmdb.org/t/p/original/";
 
-export default function Banner({ fetchUrl, type }) {
+// `data` ({ results }) comes preloaded from the home feed; without it the banner fetches `fetchUrl`
+export default function Banner({ fetchUrl, data, type }) {
     const [movies, setMovies] = useState([]);
     const [currentIndex, setCurrentIndex] = useState(0);
     const [isBookmarked, setIsBookmarked] = useState(false);
@@ -79,8 +80,12 @@ export default function Banner({ fetchUrl, type }) {
                 console.error("Banner Error:", err);
             }
         }
-        if (fetchUrl) fetchData();
-    }, [fetchUrl]);
+        if (data && Array.isArray(data.results)) {
+            setMovies(data.results);
+        } else if (fetchUrl) {
+            fetchData();
+        }
+    }, [fetchUrl, data]);
 
     useEffect(() => {
         if (!movies.length || isSlidingPaused) return;
@@ -1,11 +1,20 @@
-import React, { useEffect, useState } from "react";
+import React, { useCallback, useEffect, useRef, useState } from "react";
+
+const API_BASE = "https://cinecooltv-backend.onrender.com/api/movies";
+
+// Clicks within this window are sent together in one bulk request
+const FAVORITE_FLUSH_MS = 400;
 
 const MovieList = () => {
     const [movies, setMovies] = useState([]);
     const [error, setError] = useState(null);
 
+    // id → favorite state the user wants; flushed by the timer below
+    const pendingFavorites = useRef(new Map());
+    const flushTimer = useRef(null);
+
     useEffect(() => {
-        fetch("https://cinecooltv-backend.onrender.com/api/movies")
+        fetch(API_BASE)
             .then((res) => {
                 if (!res.ok) {
                     throw new Error("Failed to fetch movies");
@@ -27,21 +36,63 @@ const MovieList = () => {
             });
     }, []);
 
-    const toggleFavorite = async (id) => {
-        try {
-            const res = await fetch(`https://cinecooltv-backend.onrender.com/api/movies/${id}/favorite`, {
-                method: "PUT",
-            });
-            if (!res.ok) throw new Error("Failed to toggle favorite");
+    const flushFavorites = useCallback(async () => {
+        flushTimer.current = null;
+        const pending = pendingFavorites.current;
+        if (pending.size === 0) return;
+        pendingFavorites.current = new Map();
+
+        // One request per target state (at most two)
+        const groups = { true: [], false: [] };
+        pending.forEach((favorite, id) => groups[favorite].push(id));
+
+        await Promise.all(
+            Object.entries(groups)
+                .filter(([, ids]) => ids.length > 0)
+                .map(async ([favorite, ids]) => {
+                    try {
+                        const res = await fetch(`${API_BASE}/favorite`, {
+                            method: "PUT",
+                            headers: { "Content-Type": "application/json" },
+                            body: JSON.stringify({ ids, favorite: favorite === "true" }),
+                        });
+                        if (!res.ok) throw new Error("Failed to update favorites");
+                    } catch (error) {
+                        console.error("Error updating favorites:", error);
+                        // ↩️ Roll back the optimistic update, unless clicked again meanwhile
+                        setMovies((prev) =>
+                            prev.map((m) =>
+                                ids.includes(m.id) && !pendingFavorites.current.has(m.id)
+                                    ? { ...m, favorite: favorite !== "true" }
+                                    : m
+                            )
+                        );
+                    }
+                })
+        );
+    }, []);
+
+    // Send whatever is still queued when the list unmounts
+    useEffect(() => () => {
+        if (flushTimer.current) {
+            clearTimeout(flushTimer.current);
+            flushFavorites();
+        }
+    }, [flushFavorites]);
+
+    const toggleFavorite = (id) => {
+        const movie = movies.find((m) => m.id === id);
+        if (!movie) return;
+        const favorite = !movie.favorite;
+
+        // ✅ Update UI immediately, sync with the API in the next batch
+        setMovies((prev) =>
+            prev.map((m) => (m.id === id ? { ...m, favorite } : m))
+        );
+        pendingFavorites.current.set(id, favorite);
 
-            // ✅ Update UI immediately after successful API call
-            setMovies((prev) =>
-                prev.map((m) =>
-                    m.id === id ? { ...m, favorite: !m.favorite } : m
-                )
-            );
-        } catch (error) {
-            console.error("Error toggling favorite:", error);
+        if (!flushTimer.current) {
+            flushTimer.current = setTimeout(flushFavorites, FAVORITE_FLUSH_MS);
         }
     };
 
@@ -53,7 +104,7 @@ const MovieList = () => {
         <div>
             <h2>🎬 Your Movies</h2>
             {Array.isArray(movies) && movies.length > 0 ? (
-                movAies.map((m) => (
+                movies.map((m) => (
                     <div
                         key={m.id}
                         style={{
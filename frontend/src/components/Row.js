@@ -13,7 +13,8 @@ import { useTheme } from "../context/ThemeContext";
 
 const BASE_IMG = "https://image.tmdb.org/t/p/original";
 
-const Row = ({ title, fetchUrl, isLargeRow = false, type: incomingType }) => {
+// `data` ({ results }) comes preloaded from the home feed; without it the row fetches `fetchUrl` itself
+const Row = ({ title, fetchUrl, data, isLargeRow = false, type: incomingType }) => {
     const [items, setItems] = useState([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(false);
@@ -151,6 +152,22 @@ const Row = ({ title, fetchUrl, isLargeRow = false, type: incomingType }) => {
         let retryCount = 0;
         const maxRetries = 2;
 
+        function filterItems(results) {
+            if (!Array.isArray(results)) return [];
+            return results.filter(item => {
+                if (incomingType === 'anime') return true;
+                
+                const isJapanese = 
+                    item.original_language === 'ja' || 
+                    item.original_language === 'jp' ||
+                    (item.origin_country && item.origin_country.includes('JP'));
+                
+                const hasAnimeGenre = item.genre_ids && item.genre_ids.includes(16);
+                
+                return !isJapanese && !hasAnimeGenre;
+            });
+        }
+
         async function fetchData() {
             try {
                 setLoading(true);
@@ -160,24 +177,7 @@ const Row = ({ title, fetchUrl, isLargeRow = false, type: incomingType }) => {
                 });
                 if (!mounted) return;
 
-                if (res.data.results && Array.isArray(res.data.results)) {
-                    const filteredItems = res.data.results.filter(item => {
-                        if (incomingType === 'anime') return true;
-                        
-                        const isJapanese = 
-                            item.original_language === 'ja' || 
-                            item.original_language === 'jp' ||
-                            (item.origin_country && item.origin_country.includes('JP'));
-                        
-                        const hasAnimeGenre = item.genre_ids && item.genre_ids.includes(16);
-                        
-                        return !isJapanese && !hasAnimeGenre;
-                    });
-                    
-                    setItems(filteredItems);
-                } else {
-                    setItems([]);
-                }
+                setItems(filterItems(res.data.results));
             } catch (err) {
                 console.error("Row fetch error", err);
                 if (mounted) {
@@ -196,12 +196,18 @@ const Row = ({ title, fetchUrl, isLargeRow = false, type: incomingType }) => {
             }
         }
 
-        fetchData();
+        if (data && Array.isArray(data.results)) {
+            setItems(filterItems(data.results));
+            setError(false);
+            setLoading(false);
+        } else {
+            fetchData();
+        }
         return () => {
             mounted = false;
             stopContinuousScroll();
         };
-    }, [fetchUrl, incomingType]);
+    }, [fetchUrl, data, incomingType]);
 
     // Update arrows when items load or window resizes
     useEffect(() => {
@@ -0,0 +1,33 @@
+// src/hooks/useHomeFeed.js
+// 🏠 Loads every row of a home tab in one request (GET /api/home?tab=...)
+import { useEffect, useState } from "react";
+import axios from "axios";
+import config from "../config";
+
+// status: "loading" | "ready" | "error"
+// rows: { [rowKey]: { results: [...] } } — rows missing on the server are absent,
+// and Row / Banner fall back to fetching those on their own
+export function useHomeFeed(tab) {
+    const [feed, setFeed] = useState({ status: "loading", rows: {} });
+
+    useEffect(() => {
+        let mounted = true;
+        setFeed({ status: "loading", rows: {} });
+
+        axios
+            .get(`${config.backendUrl}/api/home`, { params: { tab }, timeout: 8000 })
+            .then((res) => {
+                if (mounted) setFeed({ status: "ready", rows: res.data.rows || {} });
+            })
+            .catch((err) => {
+                console.error("Home feed error", err);
+                if (mounted) setFeed({ status: "error", rows: {} });
+            });
+
+        return () => {
+            mounted = false;
+        };
+    }, [tab]);
+
+    return feed;
+}
@@ -1,22 +1,14 @@
 // src/pages/AnimeTab.js
-import React, { useState, useEffect } from "react";
+import React from "react";
 import Banner from "../components/Banner";
 import Row from "../components/Row";
+import { useHomeFeed } from "../hooks/useHomeFeed";
 import requests from "../requests";
 
 const AnimeTab = () => {
-    const [loading, setLoading] = useState(true);
+    const feed = useHomeFeed("anime");
 
-    useEffect(() => {
-        // Simulate initial load
-        const timer = setTimeout(() => {
-            setLoading(false);
-        }, 500);
-
-        return () => clearTimeout(timer);
-    }, []);
-
-    if (loading) {
+    if (feed.status === "loading") {
         return (
             <div className="min-h-screen themed-bg-primary">
                 {/* Banner Shimmer */}
@@ -75,14 +67,14 @@ const AnimeTab = () => {
     return (
         <div className="min-h-screen themed-bg-primary">
             {/* ✅ FIXED: Pass type as "anime" to Banner and Rows */}
-            <Banner fetchUrl={requests.animeTrending} type="anime" />
+            <Banner fetchUrl={requests.animeTrending} data={feed.rows.animeTrending} type="anime" />
 
-            <Row title="🔥 Trending Anime" fetchUrl={requests.animeTrending} type="anime" isLargeRow />
-            <Row title="⭐ Top Rated Anime" fetchUrl={requests.animeTopRated} type="anime" />
-            <Row title="⚔️ Action Anime" fetchUrl={requests.animeAction} type="anime" />
-            <Row title="💘 Romance Anime" fetchUrl={requests.animeRomance} type="anime" />
-            <Row title="😂 Comedy Anime" fetchUrl={requests.animeComedy} type="anime" />
-            <Row title="🕵️ Mystery Anime" fetchUrl={requests.animeMystery} type="anime" />
+            <Row title="🔥 Trending Anime" fetchUrl={requests.animeTrending} data={feed.rows.animeTrending} type="anime" isLargeRow />
+            <Row title="⭐ Top Rated Anime" fetchUrl={requests.animeTopRated} data={feed.rows.animeTopRated} type="anime" />
+            <Row title="⚔️ Action Anime" fetchUrl={requests.animeAction} data={feed.rows.animeAction} type="anime" />
+            <Row title="💘 Romance Anime" fetchUrl={requests.animeRomance} data={feed.rows.animeRomance} type="anime" />
+            <Row title="😂 Comedy Anime" fetchUrl={requests.animeComedy} data={feed.rows.animeComedy} type="anime" />
+            <Row title="🕵️ Mystery Anime" fetchUrl={requests.animeMystery} data={feed.rows.animeMystery} type="anime" />
         </div>
     );
 };
@@ -2,6 +2,7 @@
 import React, { useEffect, useState, useCallback } from "react";
 import { useParams, useNavigate, useLocation } from "react-router-dom";
 import axios from "axios";
+import config from "../config";
 import { useAuth } from "../context/AuthContext";
 import {
     getLibrary,
@@ -370,10 +371,8 @@ const DetailsPage = () => {
                 if (finalType === "series") finalType = "tv";
                 if (finalType === "anime") finalType = "tv"; // anime IS tv on TMDB
 
-                const url =
-                    finalType === "movie"
-                        ? `https://api.themoviedb.org/3/movie/${id}?api_key=${API_KEY}&language=en-US&append_to_response=credits,videos,recommendations`
-                        : `https://api.themoviedb.org/3/tv/${id}?api_key=${API_KEY}&language=en-US&append_to_response=credits,videos,recommendations`;
+                // Details, credits, videos, recommendations and age rating in one backend call
+                const url = `${config.backendUrl}/api/titles/${finalType}/${id}`;
 
                 console.log(`📡 Making API request to: ${url}`);
 
@@ -465,13 +464,8 @@ const DetailsPage = () => {
 
             try {
                 if (apiType === "movie") {
-                    // Movie specific data
-                    const releaseDates = await axios.get(
-                        `https://api.themoviedb.org/3/movie/${id}/release_dates?api_key=${API_KEY}`
-                    );
-                    const usRelease = releaseDates.data.results?.find(r => r.iso_3166_1 === "US");
-                    const rating = usRelease?.release_dates?.[0]?.certification || "Not Rated";
-                    typeData.ageRating = rating;
+                    // Movie specific data (age_rating comes with /api/titles)
+                    typeData.ageRating = data.age_rating || "Not Rated";
 
                     typeData.releaseYear = data.release_date?.slice(0, 4) || "N/A";
                     typeData.budget = data.budget || 0;
@@ -481,11 +475,7 @@ const DetailsPage = () => {
 
                 } else if (apiType === "tv") {
                     // TV show specific data (for both series and anime)
-                    const contentRatings = await axios.get(
-                        `https://api.themoviedb.org/3/tv/${id}/content_ratings?api_key=${API_KEY}`
-                    );
-                    const usRating = contentRatings.data.results?.find(r => r.iso_3166_1 === "US");
-                    typeData.ageRating = usRating?.rating || "Not Rated";
+                    typeData.ageRating = data.age_rating || "Not Rated";
 
                     typeData.seasons = data.number_of_seasons || 0;
                     // Episode duration logic - use the first available runtime or provide a sensible default
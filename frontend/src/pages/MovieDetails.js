@@ -3,8 +3,9 @@ import { useParams, useNavigate } from "react-router-dom";
 import { motion } from "framer-motion";
 import { Star } from "lucide-react";
 import { useUserLists } from "../hooks/useUserLists";
+import config from "../config";
 
-const MovieDetails = () => {
+const MovieDetails = ({ type = "movie" }) => {
     const { id } = useParams();
     const navigate = useNavigate();
     const [movie, setMovie] = useState(null);
@@ -14,11 +15,7 @@ const MovieDetails = () => {
     useEffect(() => {
         const fetchDetails = async () => {
             try {
-                const res = await fetch(
-                    `https://api.themoviedb.org/3/movie/${id}?api_key=${
-                        import.meta.env.VITE_TMDB_API_KEY
-                    }&append_to_response=videos,credits,similar`
-                );
+                const res = await fetch(`${config.backendUrl}/api/titles/${type}/${id}`);
                 const data = await res.json();
                 setMovie(data);
             } catch (err) {
@@ -26,7 +23,7 @@ const MovieDetails = () => {
             }
         };
         fetchDetails();
-    }, [id]);
+    }, [id, type]);
 
     if (!movie)
         return (
@@ -149,7 +146,7 @@ const MovieDetails = () => {
 
                         {activeTab === "cast" && (
                             <div className="grid grid-cols-3 md:grid-cols-5 gap-4 mt-4">
-                                {movie.credits.cast.slice(0, 10).map((actor) => (
+                                {(movie.credits?.cast || []).slice(0, 10).map((actor) => (
                                     <div key={actor.id} className="text-center">
                                         <img
                                             src={`https://image.tmdb.org/t/p/w200${actor.profile_path}`}
@@ -172,13 +169,13 @@ const MovieDetails = () => {
                 </motion.div>
 
                 {/* Similar Movies Section */}
-                {movie.similar?.results?.length > 0 && (
+                {movie.recommendations?.results?.length > 0 && (
                     <div className="mt-10">
                         <h2 className="text-2xl font-semibold mb-4">
                             More Like {movie.title}
                         </h2>
                         <div className="grid grid-cols-2 sm:grid-cols-3 md:grid-cols-5 gap-4">
-                            {movie.similar.results.slice(0, 10).map((m) => (
+                            {movie.recommendations.results.slice(0, 10).map((m) => (
                                 <motion.div
                                     key={m.id}
                                     whileHover={{ scale: 1.05 }}
@@ -1,24 +1,18 @@
 
 
-import React, { useState, useEffect } from "react";
+import React from "react";
 import Banner from "../components/Banner";
 import Row from "../components/Row";
+import { useHomeFeed } from "../hooks/useHomeFeed";
 import requests from "../requests";
 import { useTheme } from "../context/ThemeContext";
 import ShimmerCard from "../components/ShimmerCard";
 
 const MoviesTab = () => {
-    const [loading, setLoading] = useState(true);
+    const feed = useHomeFeed("movies");
     const { isDark } = useTheme();
 
-    useEffect(() => {
-        const timer = setTimeout(() => {
-            setLoading(false);
-        }, 500);
-        return () => clearTimeout(timer);
-    }, []);
-
-    if (loading) {
+    if (feed.status === "loading") {
         return (
             <div className={`min-h-screen ${isDark ? 'bg-gray-900' : 'bg-white'}`}>
                 {/* Basic Banner Shimmer (not cinematic) */}
@@ -54,19 +48,19 @@ const MoviesTab = () => {
 
     return (
         <div className={`min-h-screen ${isDark ? 'bg-gray-900' : 'bg-white'}`}>
-            <Banner fetchUrl={requests.trendingMovies} type="movie" />
+            <Banner fetchUrl={requests.trendingMovies} data={feed.rows.trendingMovies} type="movie" />
 
             {/* HOME PAGE CONTENT - MOVIES ONLY, ANIME FILTERED OUT */}
-            <Row title="🔥 Trending Movies" fetchUrl={requests.trendingMovies} type="movie" isLargeRow />
-            <Row title="⭐ Top Rated" fetchUrl={requests.topRatedMovies} type="movie" />
-            <Row title="🎬 Popular Movies" fetchUrl={requests.popularMovies} type="movie" />
-            <Row title="🆕 Upcoming" fetchUrl={requests.upcomingMovies} type="movie" />
-            <Row title="🎞️ Now Playing" fetchUrl={requests.nowPlayingMovies} type="movie" />
-            <Row title="💥 Action" fetchUrl={requests.actionMovies} type="movie" />
-            <Row title="😂 Comedy" fetchUrl={requests.comedyMovies} type="movie" />
-            <Row title="💘 Romance" fetchUrl={requests.romanceMovies} type="movie" />
-            <Row title="👻 Horror" fetchUrl={requests.horrorMovies} type="movie" />
-            <Row title="🧠 Sci-Fi" fetchUrl={requests.sciFiMovies} type="movie" />
+            <Row title="🔥 Trending Movies" fetchUrl={requests.trendingMovies} data={feed.rows.trendingMovies} type="movie" isLargeRow />
+            <Row title="⭐ Top Rated" fetchUrl={requests.topRatedMovies} data={feed.rows.topRatedMovies} type="movie" />
+            <Row title="🎬 Popular Movies" fetchUrl={requests.popularMovies} data={feed.rows.popularMovies} type="movie" />
+            <Row title="🆕 Upcoming" fetchUrl={requests.upcomingMovies} data={feed.rows.upcomingMovies} type="movie" />
+            <Row title="🎞️ Now Playing" fetchUrl={requests.nowPlayingMovies} data={feed.rows.nowPlayingMovies} type="movie" />
+            <Row title="💥 Action" fetchUrl={requests.actionMovies} data={feed.rows.actionMovies} type="movie" />
+            <Row title="😂 Comedy" fetchUrl={requests.comedyMovies} data={feed.rows.comedyMovies} type="movie" />
+            <Row title="💘 Romance" fetchUrl={requests.romanceMovies} data={feed.rows.romanceMovies} type="movie" />
+            <Row title="👻 Horror" fetchUrl={requests.horrorMovies} data={feed.rows.horrorMovies} type="movie" />
+            <Row title="🧠 Sci-Fi" fetchUrl={requests.sciFiMovies} data={feed.rows.sciFiMovies} type="movie" />
             {/* ANIME MOVIES FILTERED OUT: API only returns English language movies */}
         </div>
     );
@@ -1,22 +1,16 @@
 // src/pages/SeriesTab.js
-import React, { useState, useEffect } from "react";
+import React from "react";
 import Banner from "../components/Banner";
 import Row from "../components/Row";
+import { useHomeFeed } from "../hooks/useHomeFeed";
 import requests from "../requests";
 import { useTheme } from "../context/ThemeContext";
 
 const SeriesTab = () => {
-    const [loading, setLoading] = useState(true);
+    const feed = useHomeFeed("series");
     const { isDark } = useTheme();
 
-    useEffect(() => {
-        const timer = setTimeout(() => {
-            setLoading(false);
-        }, 500);
-        return () => clearTimeout(timer);
-    }, []);
-
-    if (loading) {
+    if (feed.status === "loading") {
         return (
             <div className={`min-h-screen ${isDark ? 'bg-gray-900' : 'bg-white'}`}>
                 {/* Banner Shimmer */}
@@ -47,18 +41,18 @@ const SeriesTab = () => {
 
     return (
         <div className={`min-h-screen ${isDark ? 'bg-gray-900' : 'bg-white'}`}>
-            <Banner fetchUrl={requests.trendingSeries} type="series" />
+            <Banner fetchUrl={requests.trendingSeries} data={feed.rows.trendingSeries} type="series" />
 
-            <Row title="Trending Now" fetchUrl={requests.trendingSeries} type="tv" />
-            <Row title="Popular Series" fetchUrl={requests.popularSeries} type="tv" />
-            <Row title="Top Rated Series" fetchUrl={requests.topRatedSeries} type="tv" />
-            <Row title="Airing Today" fetchUrl={requests.airingTodaySeries} type="tv" />
-            <Row title="On The Air" fetchUrl={requests.onTheAirSeries} type="tv" />
-            <Row title="Drama" fetchUrl={requests.dramaSeries} type="tv" />
-            <Row title="Comedy" fetchUrl={requests.comedySeries} type="tv" />
-            <Row title="Action & Adventure" fetchUrl={requests.actionAdventureSeries} type="tv" />
-            <Row title="Crime" fetchUrl={requests.crimeSeries} type="tv" />
-            <Row title="Reality" fetchUrl={requests.realitySeries} type="tv" />
+            <Row title="Trending Now" fetchUrl={requests.trendingSeries} data={feed.rows.trendingSeries} type="tv" />
+            <Row title="Popular Series" fetchUrl={requests.popularSeries} data={feed.rows.popularSeries} type="tv" />
+            <Row title="Top Rated Series" fetchUrl={requests.topRatedSeries} data={feed.rows.topRatedSeries} type="tv" />
+            <Row title="Airing Today" fetchUrl={requests.airingTodaySeries} data={feed.rows.airingTodaySeries} type="tv" />
+            <Row title="On The Air" fetchUrl={requests.onTheAirSeries} data={feed.rows.onTheAirSeries} type="tv" />
+            <Row title="Drama" fetchUrl={requests.dramaSeries} data={feed.rows.dramaSeries} type="tv" />
+            <Row title="Comedy" fetchUrl={requests.comedySeries} data={feed.rows.comedySeries} type="tv" />
+            <Row title="Action & Adventure" fetchUrl={requests.actionAdventureSeries} data={feed.rows.actionAdventureSeries} type="tv" />
+            <Row title="Crime" fetchUrl={requests.crimeSeries} data={feed.rows.crimeSeries} type="tv" />
+            <Row title="Reality" fetchUrl={requests.realitySeries} data={feed.rows.realitySeries} type="tv" />
         </div>
     );
 };
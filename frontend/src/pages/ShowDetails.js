@@ -1,6 +1,7 @@
 // src/pages/ShowDetails.js
 import React, { useEffect, useState } from "react";
 import { useParams } from "react-router-dom";
+import config from "../config";
 
 const ShowDetails = () => {
     const { id } = useParams(); // movie/show ID from URL
@@ -9,12 +10,9 @@ const ShowDetails = () => {
     const [newComment, setNewComment] = useState("");
 
     useEffect(() => {
-        // Example using TMDb API
         const fetchDetails = async () => {
             try {
-                const res = await fetch(
-                    `https://api.themoviedb.org/3/movie/${id}?api_key=YOUR_TMDB_API_KEY&append_to_response=videos,recommendations,credits`
-                );
+                const res = await fetch(`${config.backendUrl}/api/titles/movie/${id}`);
                 const data = await res.json();
                 setDetails(data);
             } catch (err) {